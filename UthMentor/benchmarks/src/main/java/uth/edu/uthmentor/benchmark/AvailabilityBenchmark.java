@@ -0,0 +1,56 @@
+package uth.edu.uthmentor.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import uth.edu.uthmentor.Model.Mentor;
+import uth.edu.uthmentor.Model.Schedule;
+import uth.edu.uthmentor.Repository.AppointmentRepository;
+import uth.edu.uthmentor.Repository.MentorRepository;
+import uth.edu.uthmentor.Repository.ScheduleRepository;
+import uth.edu.uthmentor.Service.AppointmentService;
+import uth.edu.uthmentor.Service.ServiceImp.AvailabilityEngine;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// getAvailableSlots đầy đủ (3 truy vấn) và riêng phần tính slot trong bộ nhớ để tách chi phí DB
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AvailabilityBenchmark {
+
+    private BenchmarkData data;
+    private AppointmentService appointmentService;
+    private AvailabilityEngine availabilityEngine;
+    private Long mentorId;
+    private Schedule schedule;
+    private List<LocalTime> bookedTimes;
+    private final LocalDate day = BenchmarkData.FIRST_DAY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.start();
+        appointmentService = data.bean(AppointmentService.class);
+        availabilityEngine = data.bean(AvailabilityEngine.class);
+        mentorId = data.mentorIds.get(0);
+        Mentor mentor = data.bean(MentorRepository.class).findById(mentorId).orElseThrow();
+        schedule = data.bean(ScheduleRepository.class).findByMentor(mentor).orElseThrow();
+        bookedTimes = data.bean(AppointmentRepository.class).findBookedTimes(mentorId, day);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public List<LocalTime> getAvailableSlots() {
+        return appointmentService.getAvailableSlots(mentorId, day);
+    }
+
+    @Benchmark
+    public List<LocalTime> computeFreeSlots() {
+        return availabilityEngine.freeSlots(schedule, bookedTimes);
+    }
+}
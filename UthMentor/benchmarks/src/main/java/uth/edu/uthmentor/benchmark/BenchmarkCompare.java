@@ -0,0 +1,50 @@
+package uth.edu.uthmentor.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// So sánh hai file kết quả JSON của JMH: in điểm của từng benchmark và phần trăm thay đổi
+public final class BenchmarkCompare {
+
+    private BenchmarkCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkCompare <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> candidate = read(Path.of(args[1]));
+
+        System.out.printf("%-60s %14s %14s %9s%n", "Benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode after = entry.getValue().path("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey()) ? baseline.get(entry.getKey()).path("primaryMetric") : null;
+            String unit = after.path("scoreUnit").asText();
+            double score = after.path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-60s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            double previous = before.path("score").asDouble();
+            double change = previous == 0 ? 0 : (score - previous) / previous * 100;
+            System.out.printf("%-60s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), previous, score, change, unit);
+        }
+    }
+
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            String name = result.path("benchmark").asText();
+            JsonNode params = result.path("params");
+            byName.put(params.isMissingNode() ? name : name + params, result);
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,139 @@
+package uth.edu.uthmentor.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.UthMentorApplication;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Khởi động ứng dụng trên H2 trong bộ nhớ và nạp một bộ dữ liệu cố định, mỗi JVM fork của JMH một lần
+public final class BenchmarkData {
+
+    public static final int FIELDS = 5;
+    public static final int MENTORS = 50;
+    public static final int MEMBERS = 200;
+    public static final int APPOINTMENTS_PER_MENTOR = 40;
+
+    // ngày cố định để các lần chạy so sánh được với nhau
+    public static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 7);
+
+    public final ConfigurableApplicationContext context;
+    public final List<Long> mentorIds = new ArrayList<>();
+    public final List<Long> memberUserIds = new ArrayList<>();
+    public final List<Long> appointmentIds = new ArrayList<>();
+
+    private BenchmarkData(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static BenchmarkData start() {
+        BenchmarkData data = new BenchmarkData(startApplication(Map.of()));
+        data.seed();
+        return data;
+    }
+
+    // Ứng dụng trên H2 trong bộ nhớ; overrides ghi đè các giá trị mặc định bên dưới
+    public static ConfigurableApplicationContext startApplication(Map<String, String> overrides) {
+        // devtools (nếu có trên classpath) sẽ khởi động lại main với tham số của Spring thay vì tham số gốc
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        // schema tạo từ db/migration như production, kể cả các index
+        properties.put("server.port", "0");
+        properties.put("outbox.enabled", "false");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.putAll(overrides);
+        // truyền dưới dạng tham số dòng lệnh để ghi đè application.properties (MySQL) của ứng dụng
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(UthMentorApplication.class).run(args);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public void close() {
+        context.close();
+    }
+
+    private void seed() {
+        UserRepository userRepository = bean(UserRepository.class);
+        MemberRepository memberRepository = bean(MemberRepository.class);
+        MentorRepository mentorRepository = bean(MentorRepository.class);
+        ScheduleRepository scheduleRepository = bean(ScheduleRepository.class);
+        FieldRepository fieldRepository = bean(FieldRepository.class);
+        AppointmentRepository appointmentRepository = bean(AppointmentRepository.class);
+        TransactionTemplate transactionTemplate = bean(TransactionTemplate.class);
+
+        List<Field> fields = new ArrayList<>();
+        for (int i = 0; i < FIELDS; i++) {
+            fields.add(fieldRepository.save(Field.builder().name("Field " + i).description("Benchmark field " + i).build()));
+        }
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            User user = userRepository.save(user("bench-member-" + i, Role.MEMBER));
+            members.add(memberRepository.save(Member.builder()
+                    .firstName("Member").lastName(String.valueOf(i)).email(user.getEmail()).phoneNumber("0900000" + i)
+                    .username(user.getUsername()).role(Role.MEMBER).user(user).build()));
+            memberUserIds.add(user.getId());
+        }
+
+        // Schedule cascade sang Mentor nên lưu cả hai trong cùng một transaction
+        List<Mentor> mentors = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < MENTORS; i++) {
+                User user = userRepository.save(user("bench-mentor-" + i, Role.MENTOR));
+                Mentor mentor = mentorRepository.save(Mentor.builder()
+                        .fullName("Mentor " + i).role(Role.MENTOR).field(fields.get(i % FIELDS)).user(user)
+                        .fee(200000.0 + i * 1000).description("Benchmark mentor " + i).build());
+                scheduleRepository.save(Schedule.builder()
+                        .mentor(mentor)
+                        .startTime(LocalTime.of(8, 0))
+                        .endTime(LocalTime.of(17, 0))
+                        .daysOfWeek(EnumSet.allOf(DayOfWeek.class))
+                        .build());
+                mentors.add(mentor);
+                mentorIds.add(mentor.getId());
+            }
+        });
+
+        // nửa số slot của ngày đầu đã có người đặt, phần còn lại rải trên các ngày sau
+        for (Mentor mentor : mentors) {
+            for (int i = 0; i < APPOINTMENTS_PER_MENTOR; i++) {
+                LocalDate day = FIRST_DAY.plusDays(i / 9);
+                LocalTime time = LocalTime.of(8, 0).plusMinutes(60L * (i % 9));
+                Appointment appointment = appointmentRepository.save(Appointment.builder()
+                        .appointmentDate(day).appointmentTime(time).status(Status.PENDING)
+                        .member(members.get((int) ((mentor.getId() * 31 + i) % MEMBERS))).mentor(mentor)
+                        .note("note " + i).reason("reason " + i).paymentMethod(PaymentMethod.CASH)
+                        .build());
+                appointmentIds.add(appointment.getId());
+            }
+        }
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username).firstName("Bench").lastName(username).email(username + "@uthmentor.local")
+                .password("{noop}secret").role(role)
+                .build();
+    }
+}
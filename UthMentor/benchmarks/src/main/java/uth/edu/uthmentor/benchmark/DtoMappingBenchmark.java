@@ -0,0 +1,74 @@
+package uth.edu.uthmentor.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.AopProxyUtils;
+import uth.edu.uthmentor.Model.Appointment;
+import uth.edu.uthmentor.Model.Mentor;
+import uth.edu.uthmentor.Repository.MentorRepository;
+import uth.edu.uthmentor.Service.ServiceImp.AppointmentServiceImp;
+import uth.edu.uthmentor.Service.ServiceImp.MentorServiceImp;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+// mapToMenDto/mapToAppointmentDto là private nên gọi qua reflection trên bean thật (không qua proxy).
+// Cả hai còn truy vấn thêm theo từng dòng (schedule, review) nên số đo gồm cả phần đó
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    private BenchmarkData data;
+    private Object mentorService;
+    private Object appointmentService;
+    private Method mapToMenDto;
+    private Method mapToAppointmentDto;
+    private Mentor mentor;
+    private Appointment appointment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        data = BenchmarkData.start();
+        mentorService = target(data.bean(MentorServiceImp.class));
+        appointmentService = target(data.bean(AppointmentServiceImp.class));
+
+        mapToMenDto = MentorServiceImp.class.getDeclaredMethod("mapToMenDto", Mentor.class);
+        mapToMenDto.setAccessible(true);
+        mapToAppointmentDto = AppointmentServiceImp.class.getDeclaredMethod("mapToAppointmentDto", Appointment.class);
+        mapToAppointmentDto.setAccessible(true);
+
+        // các quan hệ đều LAZY: nạp sẵn những gì hàm map đọc, ngoài session proxy không khởi tạo được
+        mentor = data.bean(MentorRepository.class).findProfileById(data.mentorIds.get(0)).orElseThrow();
+        EntityManager entityManager = data.bean(EntityManagerFactory.class).createEntityManager();
+        try {
+            appointment = entityManager.createQuery("SELECT a FROM Appointment a JOIN FETCH a.member " +
+                            "JOIN FETCH a.mentor m JOIN FETCH m.user LEFT JOIN FETCH m.field WHERE a.id = :id", Appointment.class)
+                    .setParameter("id", data.appointmentIds.get(0))
+                    .getSingleResult();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public Object mapMentor() throws Exception {
+        return mapToMenDto.invoke(mentorService, mentor);
+    }
+
+    @Benchmark
+    public Object mapAppointment() throws Exception {
+        return mapToAppointmentDto.invoke(appointmentService, appointment);
+    }
+
+    private static Object target(Object bean) {
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        return target != null ? target : bean;
+    }
+}
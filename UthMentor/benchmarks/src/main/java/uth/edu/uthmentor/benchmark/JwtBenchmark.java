@@ -0,0 +1,43 @@
+package uth.edu.uthmentor.benchmark;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import uth.edu.uthmentor.Model.User;
+import uth.edu.uthmentor.Repository.UserRepository;
+import uth.edu.uthmentor.Service.ServiceImp.JwtService;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private BenchmarkData data;
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.start();
+        jwtService = data.bean(JwtService.class);
+        user = data.bean(UserRepository.class).findById(data.memberUserIds.get(0)).orElseThrow();
+        token = jwtService.generateToken(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseAccessToken() {
+        return jwtService.parse(token);
+    }
+}
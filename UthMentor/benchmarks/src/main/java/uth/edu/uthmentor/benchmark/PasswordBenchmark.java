@@ -0,0 +1,34 @@
+package uth.edu.uthmentor.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt với PasswordEncoder đang cấu hình trong AppConfig: giới hạn số lần đăng nhập mỗi giây trên một nhân
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordBenchmark {
+
+    private BenchmarkData data;
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.start();
+        passwordEncoder = data.bean(PasswordEncoder.class);
+        hash = passwordEncoder.encode("benchmark-password");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data.close();
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return passwordEncoder.matches("benchmark-password", hash);
+    }
+}
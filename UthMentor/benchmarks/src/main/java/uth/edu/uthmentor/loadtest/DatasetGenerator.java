@@ -0,0 +1,188 @@
+package uth.edu.uthmentor.loadtest;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// Sinh dữ liệu tổng hợp bằng batch insert JDBC (không qua Hibernate): users, member, mentor, schedule,
+// appointment, review. Id được gán trước nên khoá ngoại tính được mà không phải đọc lại.
+// Với MySQL cần thêm rewriteBatchedStatements=true vào JDBC URL để batch thật sự gộp thành một câu
+public class DatasetGenerator {
+
+    public static final String PASSWORD = "loadtest";
+    public static final int SLOTS_PER_DAY = 18;
+    static final LocalTime DAY_START = LocalTime.of(8, 0);
+
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng", "Bùi", "Đỗ"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hải", "Hùng", "Khánh", "Linh", "Minh", "Nam",
+            "Ngọc", "Phong", "Quân", "Sơn", "Thảo", "Trang", "Tuấn", "Việt"};
+    private static final String[] FIELDS = {"Java", "Spring Boot", "ReactJS", "Data Science", "DevOps", "Mobile", "UI/UX", "Cloud",
+            "Machine Learning", "Database"};
+
+    public record Scale(int mentors, int members, int appointments, int reviews) {
+
+        public static Scale from(Map<String, String> options) {
+            return new Scale(
+                    Integer.parseInt(options.getOrDefault("mentors", "10000")),
+                    Integer.parseInt(options.getOrDefault("members", "50000")),
+                    Integer.parseInt(options.getOrDefault("appointments", "1000000")),
+                    Integer.parseInt(options.getOrDefault("reviews", "100000")));
+        }
+    }
+
+    // khoảng id đã sinh, LoadDriver dùng để chọn mentor và tài khoản member
+    public record Dataset(long firstMentorId, int mentors, List<String> memberUsernames, List<String> fieldNames, LocalDate firstDay) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    public DatasetGenerator(DataSource dataSource, int batchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.batchSize = batchSize;
+    }
+
+    public Dataset generate(Scale scale) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        // một phần lịch hẹn đã qua (COMPLETED), phần còn lại trong tương lai
+        LocalDate firstDay = LocalDate.now().minusDays(30);
+        // mọi tài khoản dùng chung một hash để không phải chạy BCrypt hàng chục nghìn lần
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        long fieldBase = nextId("field");
+        insert("field", "INSERT INTO field (id, name, description) VALUES (?, ?, ?)", FIELDS.length, i -> new Object[]{
+                fieldBase + i, FIELDS[i], "Lĩnh vực " + FIELDS[i]});
+
+        long userBase = nextId("users");
+        int users = scale.mentors() + scale.members();
+        insert("users", "INSERT INTO users (id, first_name, last_name, email, password, phone_number, role, username, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", users, i -> {
+            boolean mentor = i < scale.mentors();
+            String username = (mentor ? "load-mentor-" + i : "load-member-" + (i - scale.mentors())) + "-" + userBase;
+            return new Object[]{userBase + i, FAMILY_NAMES[i % FAMILY_NAMES.length], GIVEN_NAMES[(i / FAMILY_NAMES.length) % GIVEN_NAMES.length],
+                    username + "@uthmentor.local", passwordHash, String.format("09%08d", i), mentor ? "MENTOR" : "MEMBER", username,
+                    Timestamp.valueOf(now), Timestamp.valueOf(now)};
+        });
+
+        long memberBase = nextId("member");
+        insert("member", "INSERT INTO member (id, first_name, last_name, email, phone_number, username, role, dob, user_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", scale.members(), i -> {
+            int user = scale.mentors() + i;
+            String username = "load-member-" + i + "-" + userBase;
+            return new Object[]{memberBase + i, FAMILY_NAMES[user % FAMILY_NAMES.length], GIVEN_NAMES[(user / FAMILY_NAMES.length) % GIVEN_NAMES.length],
+                    username + "@uthmentor.local", String.format("09%08d", user), username, "MEMBER",
+                    Timestamp.valueOf(now.minusYears(18 + i % 20)), userBase + user, Timestamp.valueOf(now), Timestamp.valueOf(now)};
+        });
+
+        long mentorBase = nextId("mentor");
+        insert("mentor", "INSERT INTO mentor (id, full_name, role, field_id, user_id, fee, description, rating_count, rating_sum, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)", scale.mentors(), i -> new Object[]{
+                mentorBase + i, fullName(i), "MENTOR", fieldBase + i % FIELDS.length, userBase + i, 150000.0 + (i % 20) * 25000,
+                "Mentor " + FIELDS[i % FIELDS.length] + " với " + (1 + i % 15) + " năm kinh nghiệm",
+                Timestamp.valueOf(now), Timestamp.valueOf(now)});
+
+        long scheduleBase = nextId("schedule");
+        insert("schedule", "INSERT INTO schedule (id, mentor_id, start_time, end_time) VALUES (?, ?, ?, ?)", scale.mentors(), i -> new Object[]{
+                scheduleBase + i, mentorBase + i, Time.valueOf(DAY_START), Time.valueOf(DAY_START.plusMinutes(30L * SLOTS_PER_DAY))});
+        DayOfWeek[] days = DayOfWeek.values();
+        insert("schedule_days", "INSERT INTO schedule_days (schedule_id, day_of_week) VALUES (?, ?)", scale.mentors() * days.length, i -> new Object[]{
+                scheduleBase + i / days.length, days[i % days.length].name()});
+
+        // lịch hẹn thứ i thuộc mentor i % mentors, lấp dần từng slot của từng ngày nên không trùng (mentor, ngày, giờ)
+        long appointmentBase = nextId("appointment");
+        LocalDate today = LocalDate.now();
+        insert("appointment", "INSERT INTO appointment (id, appointment_date, appointment_time, status, member_id, mentor_id, note, reason, payment_method) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", scale.appointments(), i -> {
+            int sequence = i / scale.mentors();
+            LocalDate day = firstDay.plusDays(sequence / SLOTS_PER_DAY);
+            return new Object[]{appointmentBase + i, Date.valueOf(day), Time.valueOf(DAY_START.plusMinutes(30L * (sequence % SLOTS_PER_DAY))),
+                    day.isBefore(today) ? "COMPLETED" : "PENDING", memberBase + memberOf(i, scale), mentorBase + i % scale.mentors(),
+                    "Ghi chú " + i, "Tư vấn " + FIELDS[i % FIELDS.length], i % 4 == 0 ? "ONLINE" : "CASH"};
+        });
+
+        // review rải đều trên các lịch hẹn để cặp (member, mentor) luôn có lịch hẹn tương ứng
+        long reviewBase = nextId("review");
+        int stride = Math.max(1, scale.appointments() / Math.max(1, scale.reviews()));
+        insert("review", "INSERT INTO review (id, rating, comment, member_id, mentor_id, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                Math.min(scale.reviews(), scale.appointments()), i -> {
+                    int appointment = i * stride;
+                    return new Object[]{reviewBase + i, 1 + (i * 7) % 5, "Đánh giá " + i, memberBase + memberOf(appointment, scale),
+                            mentorBase + appointment % scale.mentors(), Timestamp.valueOf(now)};
+                });
+
+        // tổng hợp rating như MentorRatingReconciler
+        jdbc.update("UPDATE mentor m SET rating_count = (SELECT COUNT(*) FROM review r WHERE r.mentor_id = m.id), " +
+                "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM review r WHERE r.mentor_id = m.id) WHERE m.id >= ?", mentorBase);
+
+        restartIdentities("field", "users", "member", "mentor", "schedule", "appointment", "review");
+
+        List<String> memberUsernames = new ArrayList<>(scale.members());
+        for (int i = 0; i < scale.members(); i++) {
+            memberUsernames.add("load-member-" + i + "-" + userBase);
+        }
+        System.out.printf("Dataset generated in %.1f s%n", (System.nanoTime() - started) / 1e9);
+        return new Dataset(mentorBase, scale.mentors(), memberUsernames, List.of(FIELDS), firstDay);
+    }
+
+    static String fullName(int i) {
+        return FAMILY_NAMES[i % FAMILY_NAMES.length] + " " + GIVEN_NAMES[(i / 7) % GIVEN_NAMES.length] + " "
+                + GIVEN_NAMES[(i / 3) % GIVEN_NAMES.length];
+    }
+
+    private static int memberOf(int appointment, Scale scale) {
+        return (int) ((appointment * 7919L) % scale.members());
+    }
+
+    private void insert(String table, String sql, int rows, IntFunction<Object[]> row) {
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        ParameterizedPreparedStatementSetter<Object[]> setter = (statement, values) -> {
+            for (int column = 0; column < values.length; column++) {
+                statement.setObject(column + 1, values[column]);
+            }
+        };
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == batchSize) {
+                jdbc.batchUpdate(sql, batch, batchSize, setter);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch, batchSize, setter);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("  %-14s %,10d rows in %6.1f s (%,.0f rows/s)%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    private long nextId(String table) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    // MySQL tự đẩy AUTO_INCREMENT khi insert id tường minh, H2 thì phải đặt lại identity
+    private void restartIdentities(String... tables) {
+        String product = jdbc.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        for (String table : tables) {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package uth.edu.uthmentor.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Mỗi client là một member đã đăng nhập, gửi liên tục theo tỷ lệ của Operation (vòng kín, không có think time).
+// Access token hết hạn giữa lần chạy dài (jwt.access-ttl-seconds) thì client đăng nhập lại, lượt bị 401 không được tính.
+// Vòng kín nên khi server chậm thì client cũng gửi chậm lại: p999 thấp hơn thực tế khi có hàng đợi (coordinated omission)
+public class LoadDriver {
+
+    public enum Operation {
+        SEARCH(35), VIEW_MENTOR(30), SLOTS(25), BOOK(7), REVIEW(3);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] SEARCH_TERMS = {"nguyen", "tran minh", "linh", "java", "spring", "react", "data", "devops", "hai", "ngoc"};
+
+    private final String baseUrl;
+    private final DatasetGenerator.Dataset dataset;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> failures = new EnumMap<>(Operation.class);
+    private final int totalWeight;
+
+    public LoadDriver(String baseUrl, DatasetGenerator.Dataset dataset) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        int weights = 0;
+        for (Operation operation : Operation.values()) {
+            // độ trễ tính bằng micro giây, tối đa 60 giây
+            recorders.put(operation, new Recorder(60_000_000L, 3));
+            failures.put(operation, new AtomicLong());
+            weights += operation.weight;
+        }
+        totalWeight = weights;
+    }
+
+    public Map<Operation, Histogram> run(int clients, Duration warmup, Duration duration) throws InterruptedException {
+        List<String> usernames = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String username = dataset.memberUsernames().get(i % dataset.memberUsernames().size());
+            usernames.add(username);
+            tokens.add(login(username));
+        }
+
+        long end = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String username = usernames.get(i);
+            String token = tokens.get(i);
+            Thread thread = new Thread(() -> clientLoop(username, token, end), "load-client-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        // hết warmup thì bỏ số liệu đã ghi
+        Thread.sleep(warmup.toMillis());
+        recorders.values().forEach(Recorder::reset);
+        failures.values().forEach(counter -> counter.set(0));
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Operation, Histogram> results = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> results.put(operation, recorder.getIntervalHistogram()));
+        return results;
+    }
+
+    public long failures(Operation operation) {
+        return failures.get(operation).get();
+    }
+
+    private void clientLoop(String username, String token, long end) {
+        while (System.nanoTime() < end) {
+            Operation operation = pick();
+            try {
+                HttpRequest request = request(operation, token);
+                if (request == null) {
+                    continue;
+                }
+                long started = System.nanoTime();
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long micros = (System.nanoTime() - started) / 1_000;
+                if (response.statusCode() == 401) {
+                    token = login(username);
+                    continue;
+                }
+                recorders.get(operation).recordValue(Math.min(micros, 60_000_000L));
+                if (response.statusCode() >= 400) {
+                    failures.get(operation).incrementAndGet();
+                }
+            } catch (IOException e) {
+                failures.get(operation).incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.SEARCH;
+    }
+
+    private HttpRequest request(Operation operation, String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mentorId = dataset.firstMentorId() + random.nextInt(dataset.mentors());
+        LocalDate day = LocalDate.now().plusDays(1 + random.nextInt(30));
+        return switch (operation) {
+            case SEARCH -> get("/mentor/search?q=" + URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8)
+                    + "&page=" + random.nextInt(3), token);
+            case VIEW_MENTOR -> get("/mentor/" + mentorId, token);
+            case SLOTS -> get("/appointment/available-slots?mentorId=" + mentorId + "&date=" + day, token);
+            case BOOK -> {
+                // như người dùng thật: xem slot trống rồi đặt một slot (lượt xem không tính vào BOOK)
+                HttpResponse<String> slots = http.send(get("/appointment/available-slots?mentorId=" + mentorId + "&date=" + day, token),
+                        HttpResponse.BodyHandlers.ofString());
+                JsonNode free = slots.statusCode() == 200 ? JSON.readTree(slots.body()) : null;
+                if (free == null || free.isEmpty()) {
+                    yield null;
+                }
+                String time = free.get(random.nextInt(free.size())).asText();
+                yield post("/appointment/book", token, Map.of(
+                        "mentorId", mentorId, "appointmentDate", day.toString(), "appointmentTime", time,
+                        "note", "load test", "reason", "load test", "paymentMethod", "CASH"));
+            }
+            case REVIEW -> post("/review/evaluate", token, Map.of(
+                    "mentorId", mentorId, "rating", 1 + random.nextInt(5), "comment", "load test"));
+        };
+    }
+
+    private String login(String username) {
+        try {
+            HttpResponse<String> response = http.send(post("/user/login", null, Map.of("username", username, "password", DatasetGenerator.PASSWORD)),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode() + " " + response.body());
+            }
+            return JSON.readTree(response.body()).path("token").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Login failed for " + username, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Login interrupted", e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, Object> body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,91 @@
+package uth.edu.uthmentor.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import uth.edu.uthmentor.Service.ServiceImp.MentorDtoCache;
+import uth.edu.uthmentor.Service.ServiceImp.MentorSearchIndex;
+import uth.edu.uthmentor.benchmark.BenchmarkData;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Khởi động ứng dụng trên H2, sinh dữ liệu rồi chạy LoadDriver và in throughput, p50/p99/p999 theo từng endpoint.
+// Tham số dạng key=value, vd: mentors=10000 members=50000 appointments=1000000 reviews=100000 clients=32 warmup=30 duration=120
+// threads=platform,virtual db-pool=10 so sánh Tomcat trên platform thread với virtual thread (cần chạy bằng Java 21+)
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        DatasetGenerator.Scale scale = DatasetGenerator.Scale.from(options);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "30")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120")));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "1000"));
+        // threads=platform,virtual: chạy lần lượt từng chế độ (mỗi chế độ một context và bộ dữ liệu mới) để so sánh
+        for (String threads : options.getOrDefault("threads", "platform").split(",")) {
+            Map<String, String> overrides = new HashMap<>();
+            overrides.put("spring.datasource.url", options.getOrDefault("jdbc-url",
+                    "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"));
+            overrides.put("spring.threads.virtual.enabled", String.valueOf("virtual".equals(threads.trim())));
+            if (options.containsKey("db-pool")) {
+                overrides.put("spring.datasource.hikari.maximum-pool-size", options.get("db-pool"));
+            }
+            run(threads.trim(), overrides, scale, batchSize, clients, warmup, duration);
+        }
+    }
+
+    private static void run(String threads, Map<String, String> overrides, DatasetGenerator.Scale scale, int batchSize,
+                            int clients, Duration warmup, Duration duration) throws Exception {
+        if ("virtual".equals(threads) && Runtime.version().feature() < 21) {
+            System.out.println("Virtual threads need Java 21+, running on " + Runtime.version() + ": skipping");
+            return;
+        }
+        ConfigurableApplicationContext context = BenchmarkData.startApplication(overrides);
+        try {
+            System.out.printf("%n[%s threads] Generating %,d mentors, %,d members, %,d appointments, %,d reviews%n",
+                    threads, scale.mentors(), scale.members(), scale.appointments(), scale.reviews());
+            DatasetGenerator.Dataset dataset = new DatasetGenerator(context.getBean(DataSource.class), batchSize).generate(scale);
+            // dữ liệu được chèn thẳng bằng JDBC nên phải dựng lại index tìm kiếm và xoá cache
+            context.getBean(MentorSearchIndex.class).rebuild();
+            context.getBean(MentorDtoCache.class).evictAll();
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadDriver driver = new LoadDriver("http://localhost:" + port, dataset);
+            System.out.printf("[%s threads] Running %d clients: %d s warmup, %d s measured%n",
+                    threads, clients, warmup.toSeconds(), duration.toSeconds());
+            Map<LoadDriver.Operation, Histogram> results = driver.run(clients, warmup, duration);
+
+            report(results, driver, duration);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void report(Map<LoadDriver.Operation, Histogram> results, LoadDriver driver, Duration duration) {
+        System.out.printf("%n%-12s %10s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        long total = 0;
+        for (Map.Entry<LoadDriver.Operation, Histogram> entry : results.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long count = histogram.getTotalCount();
+            total += count;
+            System.out.printf("%-12s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    entry.getKey(), count, count / (double) duration.toSeconds(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0,
+                    driver.failures(entry.getKey()));
+        }
+        System.out.printf("%-12s %10d %10.1f%n", "total", total, total / (double) duration.toSeconds());
+    }
+}
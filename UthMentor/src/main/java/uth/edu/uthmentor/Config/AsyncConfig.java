@@ -0,0 +1,78 @@
+package uth.edu.uthmentor.Config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class AsyncConfig {
+
+    private final Environment environment;
+
+    @Value("${outbox.workers:2}")
+    private int outboxWorkers;
+
+    @Value("${image.upload-workers:2}")
+    private int imageUploadWorkers;
+
+    @Value("${login.workers:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int loginWorkers;
+
+    @Value("${login.queue-capacity:50}")
+    private int loginQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor outboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outboxWorkers);
+        executor.setMaxPoolSize(outboxWorkers);
+        executor.setQueueCapacity(outboxWorkers);
+        executor.setThreadNamePrefix("outbox-");
+        useVirtualThreads(executor, "outbox-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Upload ảnh mentor lên storage, tách khỏi thread của request
+    @Bean
+    public ThreadPoolTaskExecutor imageExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageUploadWorkers);
+        executor.setMaxPoolSize(imageUploadWorkers);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("image-");
+        useVirtualThreads(executor, "image-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // BCrypt tốn CPU, chạy riêng để đợt đăng nhập dồn dập không chiếm hết thread của Tomcat.
+    // Luôn là platform thread: việc thuần CPU không lợi gì từ virtual thread, số worker chính là giới hạn
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(loginWorkers);
+        executor.setMaxPoolSize(loginWorkers);
+        executor.setQueueCapacity(loginQueueCapacity);
+        executor.setThreadNamePrefix("login-");
+        return executor;
+    }
+
+    // spring.threads.virtual.enabled=true trên Java 21+: worker SMTP/Cloudinary chặn I/O trên virtual thread.
+    // Số worker và hàng đợi giữ nguyên vì chúng giới hạn số kết nối tới dịch vụ ngoài, không phải số thread
+    private void useVirtualThreads(ThreadPoolTaskExecutor executor, String threadNamePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
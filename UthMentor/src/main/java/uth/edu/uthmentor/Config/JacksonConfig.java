@@ -0,0 +1,18 @@
+package uth.edu.uthmentor.Config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // DTO có @JsonFilter cần FilterProvider cả khi không có ?fields= (hoặc serialize ngoài request): mặc định ghi đủ
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsDefaultFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(SparseFieldsAdvice.FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -1,5 +1,6 @@
 package uth.edu.uthmentor.Config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,10 +8,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import uth.edu.uthmentor.Service.ServiceImp.JwtService;
+import uth.edu.uthmentor.Service.ServiceImp.PrincipalCache;
+import uth.edu.uthmentor.Service.ServiceImp.TokenRevocationList;
 
 import java.io.IOException;
 
@@ -20,13 +24,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String path = request.getRequestURI();
 
         // Allow public endpoints without authentication
-        if(path.startsWith("/user/register") || path.startsWith("/user/login")){
+        if(path.startsWith("/user/register") || path.startsWith("/user/login") || path.startsWith("/user/refresh")){
             filterChain.doFilter(request, response);
             return;
         }
@@ -49,14 +55,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Validate token
-            if(!jwtService.isTokenValid(jwtToken)){
+            // Validate token (signature and expiration are checked in a single parse)
+            Claims claims = jwtService.parse(jwtToken);
+
+            // Refresh tokens only work at /user/refresh; logged-out tokens are rejected
+            if(jwtService.isRefreshToken(claims) || tokenRevocationList.isRevoked(claims)){
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            // Load user and set authentication
-            var user = userDetailsService.loadUserByUsername(jwtService.extractSubject(jwtToken));
+            // Load user from the principal cache; tokens issued before the uid claim fall back to the DB
+            Long userId = jwtService.extractUserId(claims);
+            UserDetails user = userId != null
+                    ? principalCache.get(userId, claims.getSubject())
+                    : userDetailsService.loadUserByUsername(claims.getSubject());
             if(SecurityContextHolder.getContext().getAuthentication() == null) {
                 var authenticationToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                 authenticationToken.setDetails(request);
@@ -0,0 +1,39 @@
+package uth.edu.uthmentor.Config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Gắn bộ đếm câu SQL và entity load vào Hibernate cho RequestQueryStats
+@Configuration
+@RequiredArgsConstructor
+public class QueryStatsConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // static: EntityManagerFactory cần bean này trước khi QueryStatsConfig được tạo
+    @Bean
+    public static HibernatePropertiesCustomizer queryStatsSessionListener() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatsSessionListener.class.getName());
+    }
+
+    @PostConstruct
+    public void registerEntityLoadListener() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.entityLoaded();
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package uth.edu.uthmentor.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Đếm SQL/entity/thời gian DB của mỗi request (kể cả phần xác thực JWT) và ghi metric theo endpoint
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    // request vượt ngưỡng này thì in cảnh báo, thường là dấu hiệu N+1
+    @Value("${db.stats.warn-statements:30}")
+    private int warnStatements;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            // response có body đã nhận header từ ServerTimingAdvice trước khi commit
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, stats.serverTiming());
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.db.statements").tag("uri", uri).tag("method", method)
+                .register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("http.server.db.entity.loads").tag("uri", uri).tag("method", method)
+                .register(meterRegistry).record(stats.getEntityLoads());
+        Timer.builder("http.server.db.time").tag("uri", uri).tag("method", method)
+                .register(meterRegistry).record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > warnStatements) {
+            log.warn("Query budget warning: {} {} issued {} statements, loaded {} entities, {} ms in DB",
+                    method, uri, stats.getStatements(), stats.getEntityLoads(), stats.getDbNanos() / 1_000_000);
+        }
+    }
+}
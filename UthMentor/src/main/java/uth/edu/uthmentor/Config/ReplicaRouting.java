@@ -0,0 +1,32 @@
+package uth.edu.uthmentor.Config;
+
+import java.util.function.Supplier;
+
+// Ép các lần đọc trong action đi primary dù transaction là readOnly.
+// Dùng cho chỗ nạp cache/chỉ mục ngay sau khi dữ liệu đổi: đọc từ replica còn trễ sẽ giữ dữ liệu cũ tới hết TTL.
+// Chỉ có tác dụng với kết nối mở bên trong action; không có replica thì không đổi gì
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            } else {
+                PRIMARY.set(previous);
+            }
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return PRIMARY.get() != null;
+    }
+}
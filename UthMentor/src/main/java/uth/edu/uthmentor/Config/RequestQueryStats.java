@@ -0,0 +1,66 @@
+package uth.edu.uthmentor.Config;
+
+import java.util.Locale;
+
+// Số câu SQL, số entity được load và tổng thời gian DB của request đang chạy trên thread hiện tại
+public final class RequestQueryStats {
+
+    // test đọc lại số liệu qua request attribute này
+    public static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private long dbNanos;
+    private long statementStartedAt;
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // null khi không nằm trong HTTP request (scheduler, worker nền...)
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementFinished() {
+        statements++;
+        if (statementStartedAt != 0) {
+            dbNanos += System.nanoTime() - statementStartedAt;
+            statementStartedAt = 0;
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    // giá trị header Server-Timing, xem được trong tab Network của trình duyệt
+    String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements, %d entities\"",
+                dbNanos / 1_000_000.0, statements, entityLoads);
+    }
+}
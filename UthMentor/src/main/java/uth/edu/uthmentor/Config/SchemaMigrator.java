@@ -0,0 +1,204 @@
+package uth.edu.uthmentor.Config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// Schema do các file db/migration/V<version>__<mô tả>.sql quản lý (cùng quy ước với Flyway), Hibernate không tự sửa bảng.
+// Mỗi file chạy đúng một lần theo thứ tự version và được ghi vào bảng schema_version;
+// file đã chạy mà bị sửa thì app không khởi động, thay đổi mới phải nằm trong file version mới
+@Component(SchemaMigrator.BEAN_NAME)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrator {
+
+    public static final String BEAN_NAME = "schemaMigrator";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String HISTORY_TABLE = "schema_version";
+    // MySQL: nhiều instance khởi động cùng lúc thì chỉ một instance chạy migration
+    private static final String LOCK_NAME = "uthmentor_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 120;
+
+    private final DataSource dataSource;
+
+    @Value("${schema.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.migration.locations:classpath:db/migration/V*__*.sql}")
+    private String locations;
+
+    // DB cũ do ddl-auto=update tạo (đã có bảng users nhưng chưa có lịch sử): coi V1 là đã chạy.
+    // Vì vậy V1 phải đúng bằng schema cũ đó, mọi thay đổi sau nằm ở V2 trở đi
+    @Value("${schema.migration.baseline-on-migrate:true}")
+    private boolean baselineOnMigrate;
+
+    record Migration(int version, String description, Resource script, int checksum) {
+    }
+
+    // EntityManagerFactory (và mọi repository) chỉ được tạo sau khi schema đã migrate xong
+    @Configuration(proxyBeanMethods = false)
+    static class EntityManagerFactoryDependsOnSchemaMigrator extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnSchemaMigrator() {
+            super(BEAN_NAME);
+        }
+    }
+
+    @PostConstruct
+    public void migrate() throws SQLException, IOException {
+        if (!enabled) {
+            return;
+        }
+        List<Migration> migrations = load();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            boolean mysql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+            if (mysql) {
+                lock(connection);
+            }
+            try {
+                migrate(connection, migrations);
+            } finally {
+                if (mysql) {
+                    unlock(connection);
+                }
+            }
+        }
+    }
+
+    private void migrate(Connection connection, List<Migration> migrations) throws SQLException {
+        boolean existingSchema = tableExists(connection, "users");
+        createHistoryTable(connection);
+        Map<Integer, Integer> applied = appliedChecksums(connection);
+
+        if (applied.isEmpty() && existingSchema && baselineOnMigrate && !migrations.isEmpty()) {
+            Migration baseline = migrations.get(0);
+            record(connection, baseline, 0);
+            applied.put(baseline.version(), baseline.checksum());
+            log.info("Schema: existing database baselined at V{}", baseline.version());
+        }
+
+        for (Migration migration : migrations) {
+            Integer checksum = applied.get(migration.version());
+            if (checksum == null) {
+                apply(connection, migration);
+            } else if (checksum != migration.checksum()) {
+                throw new IllegalStateException("Migration " + migration.script().getFilename()
+                        + " was changed after it was applied; add a new version instead");
+            }
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            ScriptUtils.executeSqlScript(connection, migration.script());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Migration " + migration.script().getFilename() + " failed: " + e.getMessage(), e);
+        }
+        int elapsedMs = (int) ((System.nanoTime() - start) / 1_000_000);
+        record(connection, migration, elapsedMs);
+        log.info("Schema: applied {} in {} ms", migration.script().getFilename(), elapsedMs);
+    }
+
+    private List<Migration> load() throws IOException {
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(locations)) {
+            Matcher matcher = FILE_NAME.matcher(Objects.requireNonNull(resource.getFilename()));
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration file name: " + resource.getFilename());
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            Migration migration = new Migration(version, matcher.group(2).replace('_', ' '), resource, checksum(resource));
+            if (byVersion.put(version, migration) != null) {
+                throw new IllegalStateException("Duplicate migration version V" + version);
+            }
+        }
+        return new ArrayList<>(byVersion.values());
+    }
+
+    // Bỏ \r để checkout trên Windows (CRLF) không bị coi là file đã sửa
+    private static int checksum(Resource resource) throws IOException {
+        String content = new String(resource.getContentAsByteArray(), StandardCharsets.UTF_8).replace("\r", "");
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " (" +
+                    "version INT NOT NULL PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "script VARCHAR(255) NOT NULL, " +
+                    "checksum INT NOT NULL, " +
+                    "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, " +
+                    "execution_ms INT NOT NULL)");
+        }
+    }
+
+    private static Map<Integer, Integer> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, Integer> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getInt(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection connection, Migration migration, int elapsedMs) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE +
+                " (version, description, script, checksum, execution_ms) VALUES (?, ?, ?, ?, ?)")) {
+            insert.setInt(1, migration.version());
+            insert.setString(2, migration.description());
+            insert.setString(3, migration.script().getFilename());
+            insert.setInt(4, migration.checksum());
+            insert.setInt(5, elapsedMs);
+            insert.executeUpdate();
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private static void lock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next() || result.getInt(1) != 1) {
+                    throw new IllegalStateException("Could not acquire schema migration lock within " + LOCK_TIMEOUT_SECONDS + "s");
+                }
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+}
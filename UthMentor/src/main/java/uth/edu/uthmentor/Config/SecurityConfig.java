@@ -1,8 +1,10 @@
 package uth.edu.uthmentor.Config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -11,6 +13,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -30,17 +33,29 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // 401 khi thiếu hoặc hết hạn access token để client biết cần gọi /user/refresh
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
 
+                        // async dispatch của response streaming đã được phân quyền ở request gốc
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // phải đứng trước "/mentor/**" của nhóm ko cần role, nếu không sẽ bị permitAll che mất
+                        .requestMatchers("/mentor/decide-requests").hasRole("ADMIN")
+
                         // ko cần role
                         .requestMatchers(
                                 "/user/register",
                                 "/user/login",
+                                "/user/refresh",
+                                "/user/logout",
                                 "/mentor/search",
                                 "/mentor/**",
                                 "/field/get-all",
                                 "/appointment/available-slots",
+                                "/appointment/available-calendar",
                                 "/review/get-all/**",
+                                "/image/**",
 
                                 "/mentor/get-all"
                         ).permitAll()
@@ -1,20 +1,32 @@
 package uth.edu.uthmentor.Controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uth.edu.uthmentor.Dto.AppointmentDto;
+import uth.edu.uthmentor.Dto.AppointmentFilter;
+import uth.edu.uthmentor.Dto.AppointmentPageDto;
+import uth.edu.uthmentor.Dto.DayAvailabilityDto;
+import uth.edu.uthmentor.Dto.UserView;
+import uth.edu.uthmentor.Model.Status;
 import uth.edu.uthmentor.Model.User;
 import uth.edu.uthmentor.Service.AppointmentService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/appointment")
@@ -23,12 +35,35 @@ import java.util.Map;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/available-slots")
     public ResponseEntity<List<LocalTime>> getAvailableSlots(@RequestParam Long mentorId, @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(appointmentService.getAvailableSlots(mentorId, date));
     }
 
+    // Lỗi tham số được ném ra trước khi response bắt đầu; từng ngày được tính và ghi dần ra response
+    @GetMapping("/available-calendar")
+    public ResponseEntity<StreamingResponseBody> getAvailabilityCalendar(@RequestParam Long mentorId,
+                                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Stream<DayAvailabilityDto> calendar = appointmentService.getAvailabilityCalendar(mentorId, from, to);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream); calendar) {
+                generator.writeStartArray();
+                calendar.forEach(day -> {
+                    try {
+                        generator.writeObject(day);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @PostMapping("/book")
     public ResponseEntity<?> bookAppointment(@RequestBody AppointmentDto appointmentDto, Authentication authentication) {
         User user = (User) authentication.getPrincipal();
@@ -43,14 +78,14 @@ public class AppointmentController {
             Map<String, Object> response = new HashMap<>();
             response.put("appointment", saved);
             response.put("paymentUrl", paymentUrl);
-            response.put("user", user);
+            response.put("user", UserView.from(user));
             return ResponseEntity.ok(response);
         }
 
         // Nếu là thanh toán tiền mặt, trả về appointment và user
         Map<String, Object> response = new HashMap<>();
         response.put("appointment", saved);
-        response.put("user", user);
+        response.put("user", UserView.from(user));
         return ResponseEntity.ok(response);
     }
 
@@ -66,9 +101,39 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getAppointmentsByUser(user));
     }
 
+    // Ghi thẳng từng dòng ra response từ con trỏ DB, bộ nhớ không tăng theo kích thước bảng
     @GetMapping("/get-all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<AppointmentDto>> getAllAppointments() {
-        return ResponseEntity.ok(appointmentService.getAllAppointments());
+    public ResponseEntity<StreamingResponseBody> getAllAppointments(@RequestParam(required = false) Status status,
+                                                                    @RequestParam(required = false) Long mentorId,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        AppointmentFilter filter = new AppointmentFilter(status, mentorId, from, to);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                appointmentService.streamAppointments(filter, dto -> {
+                    try {
+                        generator.writeObject(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AppointmentPageDto> getAppointmentPage(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "50") int size,
+                                                                 @RequestParam(required = false) Status status,
+                                                                 @RequestParam(required = false) Long mentorId,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        AppointmentFilter filter = new AppointmentFilter(status, mentorId, from, to);
+        return ResponseEntity.ok(appointmentService.getAppointmentPage(filter, cursor, size));
     }
 }
@@ -1,13 +1,14 @@
 package uth.edu.uthmentor.Controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uth.edu.uthmentor.Model.Field;
 import uth.edu.uthmentor.Service.FieldService;
-
-import java.util.List;
+import uth.edu.uthmentor.Service.ServiceImp.FieldCatalogue;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,15 +17,23 @@ import java.util.List;
 public class FieldController {
 
     private final FieldService fieldService;
+    private final FieldCatalogue fieldCatalogue;
 
     @PostMapping("/createField")
     public ResponseEntity<Field> createField(@RequestParam String name, @RequestParam String description){
         return ResponseEntity.status(HttpStatus.CREATED).body(fieldService.createField(name, description));
     }
 
+    // JSON dựng sẵn trong bộ nhớ; If-None-Match khớp ETag thì Spring trả 304 không body.
+    // no-cache: trình duyệt vẫn giữ bản cũ nhưng hỏi lại mỗi lần để thấy field mới
     @GetMapping("/get-all")
-    public ResponseEntity<List<Field>> getAll() {
-        return ResponseEntity.ok(fieldService.getAll());
+    public ResponseEntity<byte[]> getAll() {
+        FieldCatalogue.Snapshot catalogue = fieldCatalogue.get();
+        return ResponseEntity.ok()
+                .eTag(catalogue.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalogue.json());
     }
 
 }
@@ -7,6 +7,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import uth.edu.uthmentor.Dto.MentorDecisionDto;
+import uth.edu.uthmentor.Dto.MentorDecisionResultDto;
 import uth.edu.uthmentor.Dto.MentorDto;
 import uth.edu.uthmentor.Dto.MentorRequestDto;
 import uth.edu.uthmentor.Model.User;
@@ -60,14 +61,19 @@ public class MentorController {
         return ResponseEntity.ok(mentorService.decideMentorRequest(decisionDto));
     }
 
+    @PutMapping("/decide-requests")
+    public ResponseEntity<List<MentorDecisionResultDto>> decideMentorRequests(@RequestBody List<MentorDecisionDto> decisions){
+        return ResponseEntity.ok(mentorService.decideMentorRequests(decisions));
+    }
+
     @PutMapping("/update/{mentorId}")
     public ResponseEntity<String> updateMentor(@RequestBody MentorRequestDto mentorRequestDto, @PathVariable(name = "mentorId") Long mentorId){
         return ResponseEntity.ok(mentorService.updateMentor(mentorId, mentorRequestDto));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<MentorDto>> findByMentorNameOrField(@RequestParam(required = false) String name, @RequestParam(required = false) String field, @RequestParam(defaultValue = "0") String page){
-        return ResponseEntity.ok(mentorService.findByMentorNameOrField(name, field, page));
+    public ResponseEntity<List<MentorDto>> findByMentorNameOrField(@RequestParam(required = false) String name, @RequestParam(required = false) String field, @RequestParam(required = false) String q, @RequestParam(defaultValue = "0") String page){
+        return ResponseEntity.ok(mentorService.findByMentorNameOrField(name, field, q, page));
     }
 
     @GetMapping("/me")
@@ -1,11 +1,16 @@
 package uth.edu.uthmentor.Controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
+import uth.edu.uthmentor.Dto.TokenRefreshDto;
 import uth.edu.uthmentor.Dto.UserDto;
+import uth.edu.uthmentor.Dto.UserView;
 import uth.edu.uthmentor.Exception.DuplicateUserException;
+import uth.edu.uthmentor.Exception.TooManyRequestsException;
 import uth.edu.uthmentor.Model.User;
 import uth.edu.uthmentor.Service.UserService;
 
@@ -21,7 +26,7 @@ public class UserController {
     public ResponseEntity<?> register(@RequestBody UserDto userDto){
         try {
             User user = userService.register(userDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(UserView.from(user));
         } catch (DuplicateUserException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
@@ -31,9 +36,30 @@ public class UserController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody UserDto userDto){
-        var authenticatedUser = userService.authenticateUser(userDto);
-        return ResponseEntity.ok(authenticatedUser);
+        try {
+            var authenticatedUser = userService.authenticateUser(userDto);
+            return ResponseEntity.ok(authenticatedUser);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(e.getMessage());
+        }
     }
 
+    // Đổi refresh token lấy cặp token mới, không chạy BCrypt
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody TokenRefreshDto tokenRefreshDto){
+        try {
+            return ResponseEntity.ok(userService.refreshToken(tokenRefreshDto.getRefreshToken()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) TokenRefreshDto tokenRefreshDto){
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        userService.logout(accessToken, tokenRefreshDto != null ? tokenRefreshDto.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 
 }
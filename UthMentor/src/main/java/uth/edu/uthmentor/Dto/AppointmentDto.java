@@ -1,10 +1,12 @@
 package uth.edu.uthmentor.Dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import uth.edu.uthmentor.Config.SparseFieldsAdvice;
 import uth.edu.uthmentor.Model.PaymentMethod;
 import uth.edu.uthmentor.Model.Status;
 
@@ -15,6 +17,7 @@ import java.time.LocalTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTER)
 public class AppointmentDto {
 
     private Long id;
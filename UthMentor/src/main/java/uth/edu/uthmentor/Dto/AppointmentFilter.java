@@ -0,0 +1,25 @@
+package uth.edu.uthmentor.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uth.edu.uthmentor.Model.Status;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilter {
+
+    private Status status;
+
+    private Long mentorId;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+}
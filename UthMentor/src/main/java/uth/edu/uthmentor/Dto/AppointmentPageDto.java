@@ -0,0 +1,21 @@
+package uth.edu.uthmentor.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentPageDto {
+
+    private List<AppointmentDto> items;
+
+    // null khi đã hết dữ liệu
+    private String nextCursor;
+
+}
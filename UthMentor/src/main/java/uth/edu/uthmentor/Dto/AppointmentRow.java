@@ -0,0 +1,39 @@
+package uth.edu.uthmentor.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uth.edu.uthmentor.Model.PaymentMethod;
+import uth.edu.uthmentor.Model.Status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Date;
+
+// Một dòng của danh sách lịch hẹn, lấy bằng constructor expression để không phải load entity
+@Getter
+@AllArgsConstructor
+public class AppointmentRow {
+
+    private Long id;
+    private Long memberId;
+    private Long mentorId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private String note;
+    private String reason;
+    private Status status;
+    private PaymentMethod paymentMethod;
+
+    private String memberFirstName;
+    private String memberLastName;
+    private String memberPhone;
+    private String memberEmail;
+    private Date memberDob;
+
+    private String mentorFirstName;
+    private String mentorLastName;
+    private String fieldName;
+
+    private Boolean hasReview;
+
+}
@@ -0,0 +1,10 @@
+package uth.edu.uthmentor.Dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface BookedSlot {
+    LocalDate getAppointmentDate();
+
+    LocalTime getAppointmentTime();
+}
@@ -0,0 +1,22 @@
+package uth.edu.uthmentor.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayAvailabilityDto {
+
+    private LocalDate date;
+
+    private List<LocalTime> slots;
+
+}
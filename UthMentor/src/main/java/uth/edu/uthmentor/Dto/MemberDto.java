@@ -1,9 +1,11 @@
 package uth.edu.uthmentor.Dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import uth.edu.uthmentor.Config.SparseFieldsAdvice;
 
 import java.util.Date;
 
@@ -11,6 +13,7 @@ import java.util.Date;
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTER)
 public class MemberDto {
 
     private String firstName;
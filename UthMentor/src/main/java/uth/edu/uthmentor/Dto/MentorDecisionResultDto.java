@@ -0,0 +1,15 @@
+package uth.edu.uthmentor.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Kết quả của từng request trong lần duyệt hàng loạt, cùng thứ tự với danh sách gửi lên
+@Getter
+@AllArgsConstructor
+public class MentorDecisionResultDto {
+    private Long mentorRequestId;
+
+    private boolean success;
+
+    private String message;
+}
@@ -1,10 +1,11 @@
 package uth.edu.uthmentor.Dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import uth.edu.uthmentor.Model.Field;
+import uth.edu.uthmentor.Config.SparseFieldsAdvice;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -14,19 +15,22 @@ import java.util.Set;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(SparseFieldsAdvice.FILTER)
 public class MentorDto {
     private Long id;
 
     private String fullName;
 
-    private Field field;
-
-    private String fieldName;
+    private FieldInfoDto field;
 
     private String email;
 
     private String imageUrl;
 
+    private String cardImageUrl;
+
+    private String thumbnailUrl;
+
     private Double fee;
 
     private String description;
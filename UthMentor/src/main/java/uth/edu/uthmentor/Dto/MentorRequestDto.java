@@ -1,6 +1,8 @@
 package uth.edu.uthmentor.Dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
+import uth.edu.uthmentor.Config.SparseFieldsAdvice;
 
 import java.time.LocalTime;
 import java.time.LocalDateTime;
@@ -11,6 +13,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonFilter(SparseFieldsAdvice.FILTER)
 public class MentorRequestDto {
     private Long id;
 
@@ -33,6 +36,10 @@ public class MentorRequestDto {
     private Double fee;
 
     private String description;
+
+    private String imageUrl;
+
+    private String imageState;
     
     private LocalDateTime createdAt;
 }
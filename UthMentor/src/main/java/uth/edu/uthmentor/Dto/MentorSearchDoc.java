@@ -0,0 +1,11 @@
+package uth.edu.uthmentor.Dto;
+
+public interface MentorSearchDoc {
+    Long getId();
+
+    String getFullName();
+
+    String getFieldName();
+
+    String getDescription();
+}
@@ -1,16 +1,19 @@
 package uth.edu.uthmentor.Dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import uth.edu.uthmentor.Config.SparseFieldsAdvice;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
+@JsonFilter(SparseFieldsAdvice.FILTER)
 public class ReviewDto {
 
     @NotBlank
@@ -0,0 +1,28 @@
+package uth.edu.uthmentor.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uth.edu.uthmentor.Model.User;
+
+import java.util.Date;
+
+// User trả về cho client (login, đăng ký, đặt lịch): không có mật khẩu, authorities hay timestamps của entity
+@Getter
+@AllArgsConstructor
+public class UserView {
+
+    private Long id;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String address;
+    private Date dob;
+    private String role;
+
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getPhoneNumber(), user.getAddress(), user.getDob(), user.getRole() != null ? user.getRole().name() : null);
+    }
+}
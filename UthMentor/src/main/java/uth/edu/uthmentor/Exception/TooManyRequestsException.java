@@ -0,0 +1,7 @@
+package uth.edu.uthmentor.Exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -13,7 +13,11 @@ import java.time.LocalTime;
 @Setter
 @Getter
 @Builder
-@Table(name = "appointment")
+@Table(name = "appointment", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_appointment_mentor_date_time", columnNames = {"mentor_id", "appointmentDate", "appointmentTime"})
+}, indexes = {
+        @Index(name = "idx_appointment_date_time_id", columnList = "appointmentDate, appointmentTime, id")
+})
 public class Appointment {
 
     @Id
@@ -27,12 +31,12 @@ public class Appointment {
     @Enumerated(value = EnumType.STRING)
     private Status status;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
     @JsonIgnore
     private Member member;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentor_id")
     @JsonIgnore
     private Mentor mentor;
@@ -0,0 +1,7 @@
+package uth.edu.uthmentor.Model;
+
+public enum ImageState {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -3,6 +3,7 @@ package uth.edu.uthmentor.Model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,8 +17,14 @@ import java.util.List;
 @Getter
 @Builder
 @Table(name = "mentor")
+// hồ sơ mentor: đủ cho MentorDto và email xác nhận lịch hẹn
+@NamedEntityGraph(name = Mentor.PROFILE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("field"),
+        @NamedAttributeNode("user")
+})
 
 public class Mentor {
+    public static final String PROFILE_GRAPH = "Mentor.profile";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,16 +38,21 @@ public class Mentor {
     @Column(name = "role")
     private Role role;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "field_id")
     private Field field;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     private String imageUrl;
 
+    // bản thu nhỏ cho trang danh sách; imageUrl là bản FULL
+    private String cardImageUrl;
+
+    private String thumbnailUrl;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -58,6 +70,17 @@ public class Mentor {
 
     private String description;
 
+    // tổng hợp đánh giá, cập nhật cùng lúc với insert review
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long ratingCount = 0L;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
     @OneToMany(mappedBy = "mentor",cascade = CascadeType.ALL)
     private List<Review> reviews;
 
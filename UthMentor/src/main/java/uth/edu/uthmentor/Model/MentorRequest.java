@@ -3,6 +3,7 @@ package uth.edu.uthmentor.Model;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
@@ -16,6 +17,8 @@ import java.util.Set;
 @Getter
 @Builder
 @Table(name = "mentor_request")
+// worker upload ảnh và admin duyệt request cập nhật các cột khác nhau, chỉ ghi cột thay đổi
+@DynamicUpdate
 public class MentorRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,14 +32,30 @@ public class MentorRequest {
 
     private String imageUrl;
 
+    private String cardImageUrl;
+
+    private String thumbnailUrl;
+
+    // Ảnh được lưu tạm ra đĩa rồi upload nền; imageUrl chỉ có khi READY
+    @Enumerated(value = EnumType.STRING)
+    private ImageState imageState;
+
+    private String stagedImagePath;
+
+    private String imageContentType;
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int imageAttempts = 0;
+
     @ElementCollection(targetClass = DayOfWeek.class)
     @Enumerated(value = EnumType.STRING)
     private Set<DayOfWeek> daysOfWeek;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Field field;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private User user;
 
     @Enumerated(value = EnumType.STRING)
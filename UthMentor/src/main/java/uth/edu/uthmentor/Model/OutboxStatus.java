@@ -0,0 +1,8 @@
+package uth.edu.uthmentor.Model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
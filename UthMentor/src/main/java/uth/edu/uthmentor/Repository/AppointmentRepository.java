@@ -1,18 +1,78 @@
 package uth.edu.uthmentor.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uth.edu.uthmentor.Dto.AppointmentRow;
+import uth.edu.uthmentor.Dto.BookedSlot;
 import uth.edu.uthmentor.Model.Appointment;
 import uth.edu.uthmentor.Model.Mentor;
+import uth.edu.uthmentor.Model.Status;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    // Mọi thứ AppointmentDto cần (kể cả hasReview) trong một câu query
+    String APPOINTMENT_ROW_SELECT = "SELECT new uth.edu.uthmentor.Dto.AppointmentRow(" +
+            "a.id, m.id, mt.id, a.appointmentDate, a.appointmentTime, a.note, a.reason, a.status, a.paymentMethod, " +
+            "m.firstName, m.lastName, m.phoneNumber, m.email, m.dob, " +
+            "u.firstName, u.lastName, f.name, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM Review r WHERE r.member = m AND r.mentor = mt) THEN true ELSE false END) " +
+            "FROM Appointment a JOIN a.member m JOIN a.mentor mt JOIN mt.user u LEFT JOIN mt.field f ";
+
+    String APPOINTMENT_ROW_ORDER = " ORDER BY a.appointmentDate, a.appointmentTime, a.id";
+
+    String APPOINTMENT_ROW_FILTER = "(:status IS NULL OR a.status = :status) " +
+            "AND (:mentorId IS NULL OR mt.id = :mentorId) " +
+            "AND (:from IS NULL OR a.appointmentDate >= :from) " +
+            "AND (:to IS NULL OR a.appointmentDate <= :to)";
+
+    // keyset: chỉ lấy các dòng đứng sau (date, time, id) của dòng cuối trang trước
+    String APPOINTMENT_ROW_AFTER = " AND (a.appointmentDate > :afterDate " +
+            "OR (a.appointmentDate = :afterDate AND (a.appointmentTime > :afterTime " +
+            "OR (a.appointmentTime = :afterTime AND a.id > :afterId))))";
+
     boolean existsByMentorAndAppointmentDateAndAppointmentTime(Mentor menDB, LocalDate date, LocalTime startTime);
 
     List<Appointment> findAllByMentor(Mentor menDB);
+
+    @Query("SELECT a.appointmentTime FROM Appointment a WHERE a.mentor.id = :mentorId AND a.appointmentDate = :date")
+    List<LocalTime> findBookedTimes(@Param("mentorId") Long mentorId, @Param("date") LocalDate date);
+
+    @Query("SELECT a.appointmentDate AS appointmentDate, a.appointmentTime AS appointmentTime FROM Appointment a " +
+            "WHERE a.mentor.id = :mentorId AND a.appointmentDate BETWEEN :from AND :to")
+    List<BookedSlot> findBookedSlots(@Param("mentorId") Long mentorId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(APPOINTMENT_ROW_SELECT + "WHERE u.id = :userId" + APPOINTMENT_ROW_ORDER)
+    List<AppointmentRow> findRowsByMentorUserId(@Param("userId") Long userId);
+
+    @Query(APPOINTMENT_ROW_SELECT + "WHERE m.user.id = :userId" + APPOINTMENT_ROW_ORDER)
+    List<AppointmentRow> findRowsByMemberUserId(@Param("userId") Long userId);
+
+    @Query(APPOINTMENT_ROW_SELECT + "WHERE " + APPOINTMENT_ROW_FILTER + APPOINTMENT_ROW_ORDER)
+    List<AppointmentRow> findFirstRows(@Param("status") Status status, @Param("mentorId") Long mentorId,
+                                       @Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    @Query(APPOINTMENT_ROW_SELECT + "WHERE " + APPOINTMENT_ROW_FILTER + APPOINTMENT_ROW_AFTER + APPOINTMENT_ROW_ORDER)
+    List<AppointmentRow> findRowsAfter(@Param("status") Status status, @Param("mentorId") Long mentorId,
+                                       @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                       @Param("afterDate") LocalDate afterDate, @Param("afterTime") LocalTime afterTime,
+                                       @Param("afterId") Long afterId, Limit limit);
+
+    // Con trỏ JDBC chỉ đọc tới: MySQL cần useCursorFetch=true để fetch size có hiệu lực
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(APPOINTMENT_ROW_SELECT + "WHERE " + APPOINTMENT_ROW_FILTER + APPOINTMENT_ROW_ORDER)
+    Stream<AppointmentRow> streamRows(@Param("status") Status status, @Param("mentorId") Long mentorId,
+                                      @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
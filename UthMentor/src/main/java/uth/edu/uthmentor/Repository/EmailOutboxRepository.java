@@ -0,0 +1,28 @@
+package uth.edu.uthmentor.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uth.edu.uthmentor.Model.EmailOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // -2 = SKIP LOCKED: nhiều instance cùng drain mà không tranh nhau cùng một dòng
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM EmailOutbox o " +
+            "WHERE (o.status = uth.edu.uthmentor.Model.OutboxStatus.PENDING AND o.nextAttemptAt <= :now) " +
+            "OR (o.status = uth.edu.uthmentor.Model.OutboxStatus.SENDING AND o.claimedAt < :leaseExpiredBefore) " +
+            "ORDER BY o.id")
+    List<EmailOutbox> findClaimable(@Param("now") LocalDateTime now, @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore, Pageable pageable);
+}
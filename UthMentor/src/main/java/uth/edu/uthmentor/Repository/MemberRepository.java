@@ -13,6 +13,8 @@ import java.util.Optional;
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Member findByUser(User user);
 
+    boolean existsByUserId(Long id);
+
     @Query("SELECT p FROM Member p JOIN FETCH p.appointments WHERE p.user = :user")
     Optional<Member> findByUserWithAppointments(@Param("user") User user);
 }
@@ -2,23 +2,79 @@ package uth.edu.uthmentor.Repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import uth.edu.uthmentor.Dto.MentorSearchDoc;
 import uth.edu.uthmentor.Model.Mentor;
 import uth.edu.uthmentor.Model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MentorRepository extends JpaRepository<Mentor, Long> {
     boolean existsByUserId(Long id);
 
+    // findById chỉ đọc bảng mentor; các use case cần field/user dùng graph hồ sơ
+    @EntityGraph(Mentor.PROFILE_GRAPH)
+    Optional<Mentor> findProfileById(Long id);
+
+    @Override
+    @EntityGraph(Mentor.PROFILE_GRAPH)
+    List<Mentor> findAll();
+
     @Query("SELECT d FROM Mentor d " +
             "WHERE (:name IS NULL OR LOWER(d.fullName) LIKE LOWER(CONCAT('%', :name, '%'))) " +
             "AND (:field IS NULL OR LOWER(d.field.name) LIKE LOWER(CONCAT('%', :field, '%')))")
+    @EntityGraph(Mentor.PROFILE_GRAPH)
     Page<Mentor> searchMentors(@Param(value = "name") String name, @Param(value = "field") String field, Pageable pageable);
 
     Optional<Mentor> findByUser(User user);
+
+    String SEARCH_DOC_SELECT = "SELECT m.id AS id, m.fullName AS fullName, f.name AS fieldName, m.description AS description " +
+            "FROM Mentor m LEFT JOIN m.field f";
+
+    @Query(SEARCH_DOC_SELECT)
+    List<MentorSearchDoc> findAllSearchDocs();
+
+    @Query(SEARCH_DOC_SELECT + " WHERE m.id = :mentorId")
+    Optional<MentorSearchDoc> findSearchDoc(@Param("mentorId") Long mentorId);
+
+    @Query(SEARCH_DOC_SELECT + " WHERE m.id IN :mentorIds")
+    List<MentorSearchDoc> findSearchDocs(@Param("mentorIds") Collection<Long> mentorIds);
+
+    // Chỉ gắn ảnh khi mentor chưa có, không ghi đè ảnh đã cập nhật
+    @Transactional
+    @Modifying
+    @Query("UPDATE Mentor m SET m.imageUrl = :url, m.cardImageUrl = :cardUrl, m.thumbnailUrl = :thumbnailUrl " +
+            "WHERE m.id = :mentorId AND m.imageUrl IS NULL")
+    int setImageUrlIfMissing(@Param("mentorId") Long mentorId, @Param("url") String url,
+                             @Param("cardUrl") String cardUrl, @Param("thumbnailUrl") String thumbnailUrl);
+
+    // Chép ảnh từ request sang mentor vừa tạo: worker có thể đã upload xong sau khi request được đọc lúc duyệt
+    @Modifying
+    @Query("UPDATE Mentor m SET " +
+            "m.imageUrl = (SELECT r.imageUrl FROM MentorRequest r WHERE r.id = :requestId), " +
+            "m.cardImageUrl = (SELECT r.cardImageUrl FROM MentorRequest r WHERE r.id = :requestId), " +
+            "m.thumbnailUrl = (SELECT r.thumbnailUrl FROM MentorRequest r WHERE r.id = :requestId) " +
+            "WHERE m.id = :mentorId AND m.imageUrl IS NULL " +
+            "AND EXISTS (SELECT r.id FROM MentorRequest r WHERE r.id = :requestId AND r.imageUrl IS NOT NULL)")
+    int copyImageFromRequest(@Param("mentorId") Long mentorId, @Param("requestId") Long requestId);
+
+    @Modifying
+    @Query("UPDATE Mentor m SET m.ratingCount = m.ratingCount + 1, m.ratingSum = m.ratingSum + :rating WHERE m.id = :mentorId")
+    int addRating(@Param("mentorId") Long mentorId, @Param("rating") int rating);
+
+    // Tính lại toàn bộ tổng hợp đánh giá từ bảng review; review cũ không có điểm không được đếm, như AVG trước đây
+    @Modifying
+    @Query("UPDATE Mentor m SET " +
+            "m.ratingCount = (SELECT COUNT(r.rating) FROM Review r WHERE r.mentor = m), " +
+            "m.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.mentor = m)")
+    int rebuildRatings();
 }
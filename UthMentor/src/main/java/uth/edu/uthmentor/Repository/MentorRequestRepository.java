@@ -1,9 +1,68 @@
 package uth.edu.uthmentor.Repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import uth.edu.uthmentor.Model.ImageState;
 import uth.edu.uthmentor.Model.MentorRequest;
+import uth.edu.uthmentor.Model.Status;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MentorRequestRepository extends JpaRepository<MentorRequest, Long> {
+
+    // trang duyệt của admin hiển thị user, field và lịch của từng request
+    @Override
+    @EntityGraph(attributePaths = {"field", "user", "daysOfWeek"})
+    List<MentorRequest> findAll();
+
+    // duyệt request: tạo mentor và schedule từ user, field, daysOfWeek.
+    // user.mentor/user.member là phía mappedBy, luôn được nạp cùng user: join luôn để không thêm 2 truy vấn mỗi user
+    @EntityGraph(attributePaths = {"field", "user", "user.mentor", "user.member", "daysOfWeek"})
+    Optional<MentorRequest> findDecisionById(Long id);
+
+    // duyệt hàng loạt: cả nhóm trong một truy vấn
+    @EntityGraph(attributePaths = {"field", "user", "user.mentor", "user.member", "daysOfWeek"})
+    List<MentorRequest> findDecisionsByIdIn(Collection<Long> ids);
+
+    // @DynamicUpdate làm Hibernate không batch update của entity này: duyệt hàng loạt ghi status bằng một câu cho cả nhóm
+    @Modifying
+    @Query("UPDATE MentorRequest r SET r.status = :status WHERE r.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Query("SELECT r.id FROM MentorRequest r WHERE r.imageState = :state AND r.stagedImagePath IS NOT NULL")
+    List<Long> findIdsByImageState(@Param("state") ImageState state);
+
+    // Worker upload ảnh chỉ cập nhật các cột ảnh, không ghi đè status do admin vừa duyệt
+    // Khóa dòng request tới hết transaction duyệt: markImageReady của worker phải chờ mentor được commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id FROM MentorRequest r WHERE r.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MentorRequest r SET r.imageUrl = :url, r.cardImageUrl = :cardUrl, r.thumbnailUrl = :thumbnailUrl, r.imageState = uth.edu.uthmentor.Model.ImageState.READY, r.stagedImagePath = NULL " +
+            "WHERE r.id = :id AND r.imageState = uth.edu.uthmentor.Model.ImageState.PENDING")
+    int markImageReady(@Param("id") Long id, @Param("url") String url,
+                       @Param("cardUrl") String cardUrl, @Param("thumbnailUrl") String thumbnailUrl);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MentorRequest r SET r.imageAttempts = r.imageAttempts + 1 WHERE r.id = :id")
+    int addImageAttempt(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MentorRequest r SET r.imageState = uth.edu.uthmentor.Model.ImageState.FAILED, r.stagedImagePath = NULL, r.imageAttempts = r.imageAttempts + 1 " +
+            "WHERE r.id = :id")
+    int markImageFailed(@Param("id") Long id);
 }
@@ -1,5 +1,6 @@
 package uth.edu.uthmentor.Repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import uth.edu.uthmentor.Model.Schedule;
@@ -10,6 +11,8 @@ import java.util.Optional;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+    // MentorDto và lịch trống theo tháng đều đọc daysOfWeek
+    @EntityGraph(attributePaths = "daysOfWeek")
     Optional<Schedule> findByMentor(Mentor mentor);
     Optional<Schedule> findByMentorAndDaysOfWeekContaining(Mentor mentor, DayOfWeek dayOfWeek);
 }
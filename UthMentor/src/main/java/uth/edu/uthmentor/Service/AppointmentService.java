@@ -1,16 +1,24 @@
 package uth.edu.uthmentor.Service;
 
 import uth.edu.uthmentor.Dto.AppointmentDto;
+import uth.edu.uthmentor.Dto.AppointmentFilter;
+import uth.edu.uthmentor.Dto.AppointmentPageDto;
+import uth.edu.uthmentor.Dto.DayAvailabilityDto;
 import uth.edu.uthmentor.Model.Appointment;
 import uth.edu.uthmentor.Model.User;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface AppointmentService {
     List<LocalTime> getAvailableSlots(Long mentorId, LocalDate date);
 
+    // Truy vấn DB và kiểm tra tham số chạy ngay trong lần gọi; slot của từng ngày chỉ được tính khi stream được đọc
+    Stream<DayAvailabilityDto> getAvailabilityCalendar(Long mentorId, LocalDate from, LocalDate to);
+
     AppointmentDto bookAppointment(AppointmentDto appointmentDto, User user);
 
 
@@ -22,5 +30,7 @@ public interface AppointmentService {
 
     Appointment getAppointmentById(Long id);
 
-    List<AppointmentDto> getAllAppointments();
+    AppointmentPageDto getAppointmentPage(AppointmentFilter filter, String cursor, int size);
+
+    void streamAppointments(AppointmentFilter filter, Consumer<AppointmentDto> consumer);
 }
@@ -0,0 +1,9 @@
+package uth.edu.uthmentor.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Nơi lưu ảnh cuối cùng (Cloudinary, ổ đĩa...); trả về URL công khai của ảnh
+public interface ImageStorage {
+    String store(Path file, String contentType) throws IOException;
+}
@@ -1,6 +1,7 @@
 package uth.edu.uthmentor.Service;
 
 import uth.edu.uthmentor.Dto.MentorDecisionDto;
+import uth.edu.uthmentor.Dto.MentorDecisionResultDto;
 import uth.edu.uthmentor.Dto.MentorDto;
 import uth.edu.uthmentor.Dto.MentorRequestDto;
 import uth.edu.uthmentor.Model.User;
@@ -10,9 +11,11 @@ import java.util.List;
 public interface MentorService {
     String decideMentorRequest(MentorDecisionDto decisionDto);
 
+    List<MentorDecisionResultDto> decideMentorRequests(List<MentorDecisionDto> decisions);
+
     String updateMentor(Long mentorId, MentorRequestDto mentorRequestDto);
 
-    List<MentorDto> findByMentorNameOrField(String name, String field, String page);
+    List<MentorDto> findByMentorNameOrField(String name, String field, String query, String page);
 
     MentorDto getMentorProfile(User user);
 
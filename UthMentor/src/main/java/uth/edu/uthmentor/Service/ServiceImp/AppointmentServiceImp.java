@@ -1,20 +1,37 @@
 package uth.edu.uthmentor.Service.ServiceImp;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import uth.edu.uthmentor.Dto.AppointmentDto;
+import uth.edu.uthmentor.Dto.AppointmentFilter;
+import uth.edu.uthmentor.Dto.AppointmentPageDto;
+import uth.edu.uthmentor.Dto.AppointmentRow;
+import uth.edu.uthmentor.Dto.BookedSlot;
+import uth.edu.uthmentor.Dto.DayAvailabilityDto;
 import uth.edu.uthmentor.Model.*;
 import uth.edu.uthmentor.Repository.*;
 import uth.edu.uthmentor.Service.AppointmentService;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,30 +42,57 @@ public class AppointmentServiceImp implements AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final MemberRepository memberRepository;
     private final UserRepository userRepository;
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
     private final ReviewRepository reviewRepository;
+    private final AvailabilityEngine availabilityEngine;
+    private final BookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final PrincipalCache principalCache;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    // giới hạn một lần xem lịch, đủ cho view tháng
+    private static final int MAX_CALENDAR_DAYS = 62;
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Override
+    @Transactional(readOnly = true)
     public List<LocalTime> getAvailableSlots(Long mentorId, LocalDate date) {
         Mentor menDB = mentorRepository.findById(mentorId).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
         Schedule schedDB = scheduleRepository.findByMentorAndDaysOfWeekContaining(menDB, date.getDayOfWeek())
                 .orElseThrow(() -> new IllegalArgumentException("No schedule found for mentor on " + date.getDayOfWeek()));
 
-        List<LocalTime> availableSlots = new ArrayList<>();
-        LocalTime startTime = schedDB.getStartTime();
+        List<LocalTime> bookedTimes = appointmentRepository.findBookedTimes(menDB.getId(), date);
+        return availabilityEngine.freeSlots(schedDB, bookedTimes);
+    }
 
-        while (startTime.isBefore(schedDB.getEndTime().minusMinutes(30))) {
-            boolean bookedAppoint = appointmentRepository.existsByMentorAndAppointmentDateAndAppointmentTime(menDB, date, startTime);
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<DayAvailabilityDto> getAvailabilityCalendar(Long mentorId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must be before to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
 
-            if (!bookedAppoint) {
-                availableSlots.add(startTime);
-            }
-            startTime = startTime.plusMinutes(30);
+        Mentor menDB = mentorRepository.findById(mentorId).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
+        Schedule schedDB = scheduleRepository.findByMentor(menDB).orElse(null);
+
+        Stream<LocalDate> days = from.datesUntil(to.plusDays(1));
+        if (schedDB == null) {
+            return days.map(day -> new DayAvailabilityDto(day, List.of()));
         }
-        return availableSlots;
+
+        Map<LocalDate, Long> bookedMasks = new HashMap<>();
+        for (BookedSlot booked : appointmentRepository.findBookedSlots(menDB.getId(), from, to)) {
+            long mask = bookedMasks.getOrDefault(booked.getAppointmentDate(), 0L);
+            bookedMasks.put(booked.getAppointmentDate(), availabilityEngine.markBooked(schedDB, mask, booked.getAppointmentTime()));
+        }
+
+        // stream được đọc sau khi transaction đã đóng: chỉ dùng dữ liệu đã nạp
+        Set<DayOfWeek> workDays = new HashSet<>(schedDB.getDaysOfWeek());
+        return days.map(day -> new DayAvailabilityDto(day, workDays.contains(day.getDayOfWeek())
+                ? availabilityEngine.freeSlots(schedDB, bookedMasks.getOrDefault(day, 0L))
+                : List.of()));
     }
 
     @Override
@@ -65,47 +109,65 @@ public class AppointmentServiceImp implements AppointmentService {
             memberRepository.save(memberDB);
             user.setRole(Role.MEMBER);
             userRepository.save(user);
+            principalCache.evict(user.getId());
         }
 
-        Mentor menDB = mentorRepository.findById(appointmentDto.getMentorId()).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
-
-        boolean booked = appointmentRepository.existsByMentorAndAppointmentDateAndAppointmentTime(
-                menDB, appointmentDto.getAppointmentDate(), appointmentDto.getAppointmentTime());
-
-        if (booked) {
-            throw new RuntimeException("This slot has been booked");
-        }
+        // DTO trả về và email xác nhận cần tên mentor và field
+        Mentor menDB = mentorRepository.findProfileById(appointmentDto.getMentorId()).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
 
         PaymentMethod paymentMethod = PaymentMethod.valueOf(appointmentDto.getPaymentMethod().name().toUpperCase());
 
         Appointment appointment = mapToAppointment(appointmentDto, menDB, memberDB, paymentMethod);
-        Appointment saved = appointmentRepository.save(appointment);
-
-        String VNPayUrl = createVnPayUrl(saved);
-
-        sendEmail(memberDB.getEmail(), appointment, VNPayUrl);
+        Appointment saved = insertAppointment(appointment, memberDB.getEmail());
 
         return mapToAppointmentDto(saved);
     }
 
+    private Appointment insertAppointment(Appointment appointment, String email) {
+        Lock lock = bookingLocks.lockFor(appointment.getMentor().getId(), appointment.getAppointmentDate());
+        lock.lock();
+        try {
+            // insert trước, unique key (mentor, ngày, giờ) quyết định slot đã có người đặt hay chưa;
+            // email xác nhận được ghi vào outbox trong cùng transaction
+            return transactionTemplate.execute(status -> {
+                Appointment saved = appointmentRepository.saveAndFlush(appointment);
+                sendEmail(email, saved, createVnPayUrl(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("This slot has been booked");
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAllByMen(User user) {
         if (!user.getRole().equals(Role.MENTOR)) {
             throw new RuntimeException("You are not a mentor");
         }
 
-        Mentor menDB = mentorRepository.findByUser(user).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
-        List<Appointment> appointments = appointmentRepository.findAllByMentor(menDB);
-
-        return appointments.stream().map(this::mapToAppointmentDto).collect(Collectors.toList());
+        List<AppointmentRow> rows = appointmentRepository.findRowsByMentorUserId(user.getId());
+        // chỉ kiểm tra hồ sơ khi không có lịch hẹn nào, đường thường vẫn một truy vấn
+        if (rows.isEmpty() && !mentorRepository.existsByUserId(user.getId())) {
+            throw new IllegalArgumentException("Mentor not found");
+        }
+        return rows.stream()
+                .map(this::mapToAppointmentDto)
+                .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAppointmentsByUser(User user) {
-        Member memberDB = memberRepository.findByUserWithAppointments(user).orElseThrow(() -> new RuntimeException("Member not found"));
-
-        List<Appointment> appointments = memberDB.getAppointments();
-        return appointments.stream().map(this::mapToAppointmentDto).collect(Collectors.toList());
+        List<AppointmentRow> rows = appointmentRepository.findRowsByMemberUserId(user.getId());
+        if (rows.isEmpty() && !memberRepository.existsByUserId(user.getId())) {
+            throw new RuntimeException("Member not found");
+        }
+        return rows.stream()
+                .map(this::mapToAppointmentDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -127,11 +189,55 @@ public class AppointmentServiceImp implements AppointmentService {
     }
 
     @Override
-    public List<AppointmentDto> getAllAppointments() {
-        List<Appointment> appointments = appointmentRepository.findAll();
-        return appointments.stream()
-                .map(this::mapToAppointmentDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public AppointmentPageDto getAppointmentPage(AppointmentFilter filter, String cursor, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // lấy dư một dòng để biết còn trang sau hay không
+        Limit limit = Limit.of(size + 1);
+        List<AppointmentRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = appointmentRepository.findFirstRows(filter.getStatus(), filter.getMentorId(), filter.getFrom(), filter.getTo(), limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            rows = appointmentRepository.findRowsAfter(filter.getStatus(), filter.getMentorId(), filter.getFrom(), filter.getTo(),
+                    LocalDate.parse(position[0]), LocalTime.parse(position[1]), Long.valueOf(position[2]), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encodeCursor(rows.get(size - 1));
+        }
+        List<AppointmentDto> items = rows.stream().map(this::mapToAppointmentDto).collect(Collectors.toList());
+        return new AppointmentPageDto(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAppointments(AppointmentFilter filter, Consumer<AppointmentDto> consumer) {
+        try (Stream<AppointmentRow> rows = appointmentRepository.streamRows(filter.getStatus(), filter.getMentorId(), filter.getFrom(), filter.getTo())) {
+            rows.map(this::mapToAppointmentDto).forEach(consumer);
+        }
+    }
+
+    private String encodeCursor(AppointmentRow row) {
+        String position = row.getAppointmentDate() + "|" + row.getAppointmentTime() + "|" + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     private Member mapToMember(User user) {
@@ -179,14 +285,7 @@ public class AppointmentServiceImp implements AppointmentService {
         dto.setMemberPhone(member.getPhoneNumber() != null ? member.getPhoneNumber().toString() : "");
         dto.setMemberEmail(member.getEmail());
 
-        if (member.getDob() != null) {
-            java.time.LocalDate dobLocalDate = member.getDob().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault())
-                    .toLocalDate();
-            java.time.LocalDate today = java.time.LocalDate.now();
-            java.time.Period period = java.time.Period.between(dobLocalDate, today);
-            dto.setMemberAge(period.getYears());
-        }
+        dto.setMemberAge(ageOf(member.getDob()));
 
         Mentor mentor = appointment.getMentor();
         dto.setMentorName(mentor.getUser().getFirstName() + " " + mentor.getUser().getLastName());
@@ -198,6 +297,41 @@ public class AppointmentServiceImp implements AppointmentService {
         return dto;
     }
 
+    private AppointmentDto mapToAppointmentDto(AppointmentRow row) {
+        AppointmentDto dto = new AppointmentDto();
+        dto.setId(row.getId());
+        dto.setMentorId(row.getMentorId());
+        dto.setMemberId(row.getMemberId());
+        dto.setAppointmentDate(row.getAppointmentDate());
+        dto.setAppointmentTime(row.getAppointmentTime());
+        dto.setNote(row.getNote());
+        dto.setReason(row.getReason());
+        dto.setStatus(row.getStatus());
+        dto.setPaymentMethod(row.getPaymentMethod());
+
+        dto.setMemberName(row.getMemberFirstName() + " " + row.getMemberLastName());
+        dto.setMemberPhone(row.getMemberPhone() != null ? row.getMemberPhone() : "");
+        dto.setMemberEmail(row.getMemberEmail());
+        dto.setMemberAge(ageOf(row.getMemberDob()));
+
+        dto.setMentorName(row.getMentorFirstName() + " " + row.getMentorLastName());
+        dto.setFieldName(row.getFieldName() != null ? row.getFieldName() : "");
+        dto.setHasReview(row.getHasReview());
+        return dto;
+    }
+
+    private Integer ageOf(java.util.Date dob) {
+        if (dob == null) {
+            return null;
+        }
+        // java.sql.Date không hỗ trợ toInstant()
+        java.time.LocalDate dobLocalDate = java.time.Instant.ofEpochMilli(dob.getTime())
+                .atZone(java.time.ZoneId.systemDefault())
+                .toLocalDate();
+        return java.time.Period.between(dobLocalDate, java.time.LocalDate.now()).getYears();
+    }
+
+    // Không gửi trực tiếp: ghi vào email_outbox, EmailOutboxWorker sẽ gửi nền
     public void sendEmail(String email, Appointment appointment, String paymentUrl) {
         String mentorName = appointment.getMentor().getUser().getFirstName() + " " +
                 appointment.getMentor().getUser().getLastName();
@@ -220,12 +354,12 @@ public class AppointmentServiceImp implements AppointmentService {
 
         content.append("Thank you for choosing UthMentor.\nBest regards,\nUthMentor - GuideBook");
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Appointment Confirmation - UthMentor");
-        message.setText(content.toString());
-        message.setFrom(fromEmail);
-
-        mailSender.send(message);
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(email)
+                .subject("Appointment Confirmation - UthMentor")
+                .body(content.toString())
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
     }
 }
@@ -0,0 +1,66 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Model.Schedule;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Tính slot trống của một ngày bằng bitmap: mỗi bit là một slot 30 phút tính từ startTime của lịch
+@Component
+public class AvailabilityEngine {
+
+    public static final int SLOT_MINUTES = 30;
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    // 24h / 30 phút = 48 slot, vừa đủ một long
+    private static final int MAX_SLOTS = 48;
+
+    public int slotCount(Schedule schedule) {
+        int start = schedule.getStartTime().toSecondOfDay();
+        // slot phải bắt đầu trước endTime - 30 phút (giữ đúng quy tắc cũ). minusMinutes quay vòng qua nửa đêm
+        // như vòng lặp cũ: endTime = 00:00 nghĩa là làm tới hết ngày, slot cuối 23:00
+        int lastStartExclusive = schedule.getEndTime().minusMinutes(SLOT_MINUTES).toSecondOfDay();
+        if (lastStartExclusive <= start) {
+            return 0;
+        }
+        int count = (lastStartExclusive - start + SLOT_SECONDS - 1) / SLOT_SECONDS;
+        return Math.min(count, MAX_SLOTS);
+    }
+
+    public long bookedMask(Schedule schedule, Collection<LocalTime> bookedTimes) {
+        long mask = 0L;
+        for (LocalTime booked : bookedTimes) {
+            mask = markBooked(schedule, mask, booked);
+        }
+        return mask;
+    }
+
+    public long markBooked(Schedule schedule, long mask, LocalTime booked) {
+        int offset = booked.toSecondOfDay() - schedule.getStartTime().toSecondOfDay();
+        if (offset < 0 || offset % SLOT_SECONDS != 0) {
+            return mask;
+        }
+        int index = offset / SLOT_SECONDS;
+        return index < slotCount(schedule) ? mask | (1L << index) : mask;
+    }
+
+    public List<LocalTime> freeSlots(Schedule schedule, long bookedMask) {
+        int slots = slotCount(schedule);
+        long free = ~bookedMask & ((1L << slots) - 1);
+
+        List<LocalTime> availableSlots = new ArrayList<>(Long.bitCount(free));
+        LocalTime startTime = schedule.getStartTime();
+        while (free != 0) {
+            int index = Long.numberOfTrailingZeros(free);
+            availableSlots.add(startTime.plusMinutes((long) index * SLOT_MINUTES));
+            free &= free - 1;
+        }
+        return availableSlots;
+    }
+
+    public List<LocalTime> freeSlots(Schedule schedule, Collection<LocalTime> bookedTimes) {
+        return freeSlots(schedule, bookedMask(schedule, bookedTimes));
+    }
+}
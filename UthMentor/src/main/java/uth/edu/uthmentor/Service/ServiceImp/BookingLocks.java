@@ -0,0 +1,29 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Khóa phân mảnh theo (mentor, ngày): các lượt đặt cùng mentor cùng ngày xếp hàng với nhau,
+// các mentor khác vẫn đặt song song. Unique key trong DB vẫn là chốt chặn cuối cùng.
+@Component
+public class BookingLocks {
+
+    private static final int STRIPES = 256;
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    public BookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(Long mentorId, LocalDate date) {
+        int hash = 31 * mentorId.hashCode() + date.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[hash & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,45 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Nạp giá trị cache trên thread gọi nhưng không giữ lock của map trong lúc nạp.
+// Cache.get(key, loader) chạy loader trong ConcurrentHashMap.compute (synchronized): truy vấn DB bên trong
+// sẽ ghim virtual thread vào carrier. Ở đây chỉ đặt future vào map, loader chạy bên ngoài;
+// request khác cùng key đợi future đó, invalidate trong lúc nạp thì kết quả không được giữ lại.
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> created);
+        if (future != created) {
+            return join(future);
+        }
+        try {
+            V value = loader.apply(key);
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // future lỗi bị Caffeine tự xóa khỏi cache
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Service.ImageStorage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "image.storage", havingValue = "cloudinary", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private final Cloudinary cloudinary;
+
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        // truyền File để SDK đọc dần từ đĩa thay vì giữ cả ảnh trong heap
+        Map uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap("resource_type", "auto"));
+        return uploadResult.get("secure_url").toString();
+    }
+}
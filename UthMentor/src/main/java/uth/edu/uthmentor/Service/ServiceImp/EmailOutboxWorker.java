@@ -0,0 +1,169 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Model.EmailOutbox;
+import uth.edu.uthmentor.Model.OutboxStatus;
+import uth.edu.uthmentor.Repository.EmailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Gửi email từ bảng email_outbox: mỗi batch dùng chung một kết nối SMTP, lỗi thì thử lại với backoff lũy thừa
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxWorker {
+
+    private static final long MAX_BACKOFF_MS = 3_600_000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor outboxExecutor;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.workers:2}")
+    private int workers;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff-base-ms:30000}")
+    private long backoffBaseMs;
+
+    @Value("${outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:2000}")
+    public void poll() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    // Nhận tối đa `workers` batch, gửi song song rồi chờ xong; trả về số email gửi thành công
+    public int drain() {
+        int sent = 0;
+        while (true) {
+            List<Future<Integer>> running = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                List<EmailOutbox> batch = claimBatch();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                running.add(outboxExecutor.submit(() -> sendBatch(batch)));
+            }
+            if (running.isEmpty()) {
+                return sent;
+            }
+            for (Future<Integer> future : running) {
+                try {
+                    sent += future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return sent;
+                } catch (ExecutionException e) {
+                    log.error("Email outbox batch failed", e.getCause());
+                }
+            }
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> batch = emailOutboxRepository.findClaimable(now, now.minusNanos(leaseMs * 1_000_000), PageRequest.of(0, batchSize));
+            for (EmailOutbox email : batch) {
+                email.setStatus(OutboxStatus.SENDING);
+                email.setClaimedAt(now);
+            }
+            return batch;
+        });
+    }
+
+    private int sendBatch(List<EmailOutbox> batch) {
+        // IdentityHashMap: hai email giống hệt nhau vẫn là hai dòng outbox khác nhau
+        Map<SimpleMailMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            messages.put(toMessage(email), email);
+        }
+
+        Map<EmailOutbox, String> failures = new HashMap<>();
+        try {
+            // JavaMailSenderImpl gửi cả mảng qua một Transport duy nhất
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                batch.forEach(email -> failures.put(email, e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailOutbox email = messages.get(message);
+                    if (email != null) {
+                        failures.put(email, cause.getMessage());
+                    }
+                });
+            }
+        } catch (MailException e) {
+            batch.forEach(email -> failures.put(email, e.getMessage()));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutbox email : batch) {
+                String error = failures.get(email);
+                if (error == null) {
+                    email.setStatus(OutboxStatus.SENT);
+                    email.setSentAt(now);
+                    email.setLastError(null);
+                } else {
+                    markFailed(email, error, now);
+                }
+            }
+            emailOutboxRepository.saveAll(batch);
+        });
+        return batch.size() - failures.size();
+    }
+
+    private void markFailed(EmailOutbox email, String error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            email.setStatus(OutboxStatus.FAILED);
+            return;
+        }
+        long backoff = Math.min(MAX_BACKOFF_MS, backoffBaseMs << Math.min(attempts - 1, 20));
+        email.setStatus(OutboxStatus.PENDING);
+        email.setNextAttemptAt(now.plusNanos(backoff * 1_000_000));
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        message.setFrom(fromEmail);
+        return message;
+    }
+}
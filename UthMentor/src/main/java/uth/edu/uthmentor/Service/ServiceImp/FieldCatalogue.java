@@ -0,0 +1,77 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Config.ReplicaRouting;
+import uth.edu.uthmentor.Dto.FieldInfoDto;
+import uth.edu.uthmentor.Repository.FieldRepository;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Danh sách field gần như không đổi: giữ sẵn JSON đã serialize và ETag, chỉ dựng lại khi admin tạo field.
+// Lượt dựng lại định kỳ để các node khác cũng thấy field mới; nội dung không đổi thì ETag giữ nguyên
+@Component
+@RequiredArgsConstructor
+public class FieldCatalogue {
+
+    private final FieldRepository fieldRepository;
+    private final ObjectMapper objectMapper;
+
+    // ReentrantLock thay vì synchronized: truy vấn DB bên trong không ghim virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public record Snapshot(byte[] json, String etag) {
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    // Gọi khi field được tạo; trong transaction thì dựng lại sau khi commit
+    public void refresh() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${field.catalogue.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        rebuild();
+    }
+
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            List<FieldInfoDto> fields = ReplicaRouting.onPrimary(fieldRepository::findAll).stream()
+                    .map(field -> new FieldInfoDto(field.getId(), field.getName(), field.getDescription()))
+                    .toList();
+            byte[] json = objectMapper.writeValueAsBytes(fields);
+            Snapshot current = snapshot;
+            if (current == null || !Arrays.equals(current.json(), json)) {
+                snapshot = new Snapshot(json, etagOf(json));
+            }
+            return snapshot;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize field catalogue: " + e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -6,13 +6,12 @@ import uth.edu.uthmentor.Model.Field;
 import uth.edu.uthmentor.Repository.FieldRepository;
 import uth.edu.uthmentor.Service.FieldService;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class FieldServiceImp implements FieldService {
 
     private final FieldRepository fieldRepository;
+    private final FieldCatalogue fieldCatalogue;
 
     @Override
     public Field createField(String name, String description) {
@@ -25,11 +24,8 @@ public class FieldServiceImp implements FieldService {
                 .description(description)
                 .build();
 
-        return fieldRepository.save(newField);
-    }
-
-    @Override
-    public List<Field> getAll() {
-        return fieldRepository.findAll();
+        Field saved = fieldRepository.save(newField);
+        fieldCatalogue.refresh();
+        return saved;
     }
 }
@@ -0,0 +1,138 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// Tạo các bản ảnh nhỏ (JPEG nén lại) để trang danh sách không phải tải ảnh gốc
+@Component
+public class ImageResizer {
+
+    // cạnh dài nhất của mỗi bản; ảnh nhỏ hơn thì giữ nguyên kích thước
+    public enum Variant {
+        FULL(1280), CARD(480), THUMB(160);
+
+        final int maxEdge;
+
+        Variant(int maxEdge) {
+            this.maxEdge = maxEdge;
+        }
+    }
+
+    @Value("${image.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    // Trả về map rỗng khi ImageIO không đọc được định dạng (vd. webp), khi đó dùng ảnh gốc
+    public Map<Variant, Path> resize(Path source, Path dir) throws IOException {
+        BufferedImage decoded = decode(source);
+        Map<Variant, Path> variants = new EnumMap<>(Variant.class);
+        if (decoded == null) {
+            return variants;
+        }
+        try {
+            // mỗi bản thu nhỏ từ bản lớn hơn liền trước, rẻ hơn thu từ ảnh gốc
+            BufferedImage current = decoded;
+            for (Variant variant : Variant.values()) {
+                current = scale(current, variant.maxEdge);
+                Path file = Files.createTempFile(dir, "variant-", ".jpg");
+                variants.put(variant, file);
+                writeJpeg(current, file);
+            }
+            return variants;
+        } catch (IOException | RuntimeException e) {
+            for (Path file : variants.values()) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+    }
+
+    // Đọc header trước để giải mã với subsampling: ảnh 6000px không cần nằm nguyên trong heap
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                // giữ lại ít nhất gấp đôi bản FULL để thu nhỏ vẫn mịn
+                int step = Math.max(1, longestEdge / (Variant.FULL.maxEdge * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                // file hỏng hoặc ImageIO không hỗ trợ biến thể này
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Thu nhỏ dần mỗi lần một nửa rồi mới về kích thước đích: bilinear một bước từ ảnh lớn bị răng cưa
+    static BufferedImage scale(BufferedImage image, int maxEdge) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1.0, maxEdge / (double) Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // vẽ lên nền trắng kiểu RGB: JPEG không có kênh alpha
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import uth.edu.uthmentor.Config.ReplicaRouting;
+import uth.edu.uthmentor.Model.ImageState;
+import uth.edu.uthmentor.Model.MentorRequest;
+import uth.edu.uthmentor.Repository.MentorRepository;
+import uth.edu.uthmentor.Repository.MentorRequestRepository;
+import uth.edu.uthmentor.Service.ImageStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Ảnh mentor: ghi tạm ra đĩa trong request, ở nền tạo các bản thu nhỏ, upload lên ImageStorage rồi cập nhật imageState.
+// File tạm nằm trên đĩa của node nhận request nên chính node đó upload; lượt quét định kỳ thử lại khi lỗi hoặc sau khi khởi động lại.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageUploadWorker {
+
+    private final MentorRequestRepository mentorRequestRepository;
+    private final MentorRepository mentorRepository;
+    private final ImageStorage imageStorage;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final MentorDtoCache mentorDtoCache;
+    private final ImageResizer imageResizer;
+
+    // không dùng thư mục tạm của hệ điều hành: hay bị xóa khi khởi động lại, request sẽ mất file chưa upload
+    @Value("${image.staging-dir:${user.home}/uthmentor-staging}")
+    private Path stagingDir;
+
+    @Value("${image.max-attempts:5}")
+    private int maxAttempts;
+
+    // tránh hai luồng (kick sau commit và lượt quét) cùng upload một request
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void createStagingDir() throws IOException {
+        Files.createDirectories(stagingDir);
+    }
+
+    // Chép file upload ra đĩa theo luồng (không đọc cả file vào heap)
+    public Path stage(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Image file is required");
+        }
+        try {
+            Path staged = Files.createTempFile(stagingDir, "mentor-", ".upload");
+            file.transferTo(staged);
+            return staged;
+        } catch (IOException e) {
+            throw new RuntimeException("Lỗi khi lưu file: " + e.getMessage());
+        }
+    }
+
+    public void discard(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            log.warn("Could not delete staged image {}: {}", staged, e.getMessage());
+        }
+    }
+
+    // Gọi sau khi lưu MentorRequest; chạy sau commit để worker đọc được dòng mới
+    public void submit(Long mentorRequestId) {
+        AfterCommit.run(() -> dispatch(mentorRequestId));
+    }
+
+    // Lượt quét chỉ đẩy việc sang imageExecutor: upload chậm không được giữ luồng scheduler dùng chung
+    @Scheduled(fixedDelayString = "${image.retry-interval-ms:60000}")
+    public void retryPending() {
+        for (Long id : mentorRequestRepository.findIdsByImageState(ImageState.PENDING)) {
+            if (!inFlight.contains(id) && !dispatch(id)) {
+                break;
+            }
+        }
+    }
+
+    private boolean dispatch(Long mentorRequestId) {
+        try {
+            imageExecutor.execute(() -> upload(mentorRequestId));
+            return true;
+        } catch (TaskRejectedException e) {
+            // hàng đợi đầy: để lượt quét định kỳ sau xử lý
+            return false;
+        }
+    }
+
+    public void upload(Long mentorRequestId) {
+        if (!inFlight.add(mentorRequestId)) {
+            return;
+        }
+        try {
+            // được gọi ngay sau commit tạo request: replica có thể chưa có dòng này
+            MentorRequest request = ReplicaRouting.onPrimary(() -> mentorRequestRepository.findById(mentorRequestId)).orElse(null);
+            if (request == null || request.getImageState() != ImageState.PENDING || request.getStagedImagePath() == null) {
+                return;
+            }
+            Path staged = Path.of(request.getStagedImagePath());
+            if (!Files.exists(staged)) {
+                // file tạm nằm ở node khác hoặc đã mất: tính là một lần thử để request không PENDING mãi
+                log.warn("Staged image {} of mentor request {} is missing", staged, mentorRequestId);
+                recordFailedAttempt(request, staged);
+                return;
+            }
+
+            Map<ImageResizer.Variant, String> urls;
+            try {
+                urls = storeVariants(staged, request.getImageContentType());
+            } catch (Exception e) {
+                log.warn("Image upload failed for mentor request {}", mentorRequestId, e);
+                recordFailedAttempt(request, staged);
+                return;
+            }
+
+            String url = urls.get(ImageResizer.Variant.FULL);
+            String cardUrl = urls.get(ImageResizer.Variant.CARD);
+            String thumbnailUrl = urls.get(ImageResizer.Variant.THUMB);
+            mentorRequestRepository.markImageReady(mentorRequestId, url, cardUrl, thumbnailUrl);
+            discard(staged);
+
+            // request đã được duyệt trước khi ảnh upload xong: gắn ảnh cho mentor. Đọc primary vì mentor có thể vừa được tạo;
+            // lần duyệt chưa commit thì approve tự chép ảnh từ request
+            ReplicaRouting.onPrimary(() -> mentorRepository.findByUser(request.getUser())).ifPresent(mentor -> {
+                if (mentorRepository.setImageUrlIfMissing(mentor.getId(), url, cardUrl, thumbnailUrl) > 0) {
+                    mentorDtoCache.evict(mentor.getId());
+                }
+            });
+        } finally {
+            inFlight.remove(mentorRequestId);
+        }
+    }
+
+    private void recordFailedAttempt(MentorRequest request, Path staged) {
+        if (request.getImageAttempts() + 1 >= maxAttempts) {
+            mentorRequestRepository.markImageFailed(request.getId());
+            discard(staged);
+        } else {
+            mentorRequestRepository.addImageAttempt(request.getId());
+        }
+    }
+
+    // Upload các bản FULL/CARD/THUMB; định dạng ImageIO không đọc được thì cả ba trỏ về ảnh gốc
+    private Map<ImageResizer.Variant, String> storeVariants(Path staged, String contentType) throws IOException {
+        Map<ImageResizer.Variant, Path> files = imageResizer.resize(staged, stagingDir);
+        try {
+            Map<ImageResizer.Variant, String> urls = new EnumMap<>(ImageResizer.Variant.class);
+            if (files.isEmpty()) {
+                String url = imageStorage.store(staged, contentType);
+                for (ImageResizer.Variant variant : ImageResizer.Variant.values()) {
+                    urls.put(variant, url);
+                }
+                return urls;
+            }
+            for (Map.Entry<ImageResizer.Variant, Path> file : files.entrySet()) {
+                urls.put(file.getKey(), imageStorage.store(file.getValue(), "image/jpeg"));
+            }
+            return urls;
+        } finally {
+            files.values().forEach(this::discard);
+        }
+    }
+}
@@ -1,46 +1,81 @@
 package uth.edu.uthmentor.Service.ServiceImp;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import uth.edu.uthmentor.Model.User;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    private static final long EXPIRATION_TIME = 86400000;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
 
     @Value("${jwtSecretString}")
     private String jwtSecretString;
 
+    @Value("${jwt.access-ttl-seconds:900}")
+    private long accessTtlSeconds;
+
+    @Value("${jwt.refresh-ttl-seconds:1209600}")
+    private long refreshTtlSeconds;
+
     private SecretKey secretKey;
 
+    // JwtParser thread-safe, dựng một lần thay vì mỗi lần đọc token
+    private JwtParser parser;
+
     @PostConstruct
     public void buildKey(){
         byte[] keyBytes = jwtSecretString.getBytes(StandardCharsets.UTF_8);
         this.secretKey = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+    }
+
+    public String generateToken(User user){
+        return issue(user, ACCESS_TOKEN, accessTtlSeconds);
+    }
+
+    // Refresh token sống lâu, chỉ dùng ở /user/refresh và bị thu hồi ngay khi được dùng
+    public String generateRefreshToken(User user){
+        return issue(user, REFRESH_TOKEN, refreshTtlSeconds);
     }
 
-    public String generateToken(String userName){
+    private String issue(User user, String type, long ttlSeconds){
         Date now = new Date();
-        Date expiration = new Date(now.getTime() + EXPIRATION_TIME);
+        Date expiration = new Date(now.getTime() + ttlSeconds * 1000);
 
         return Jwts.builder()
-                .subject(userName)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(TYPE_CLAIM, type)
                 .issuedAt(now)
                 .expiration(expiration)
                 .signWith(secretKey)
                 .compact();
     }
 
+    // Kiểm tra chữ ký và hạn dùng trong một lần parse; token sai hoặc hết hạn sẽ ném JwtException
+    public Claims parse(String token){
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public <T> T extractClaims(String token, Function<Claims, T> claimsTFunction){
-        return claimsTFunction.apply(Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload());
+        return claimsTFunction.apply(parse(token));
     }
 
     public String extractSubject(String token){
@@ -55,4 +90,13 @@ public class JwtService {
         return extractClaims(token, Claims::getExpiration);
     }
 
+    public Long extractUserId(Claims claims){
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    public boolean isRefreshToken(Claims claims){
+        return REFRESH_TOKEN.equals(claims.get(TYPE_CLAIM, String.class));
+    }
+
 }
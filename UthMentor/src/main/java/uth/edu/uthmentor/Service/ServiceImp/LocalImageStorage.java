@@ -0,0 +1,112 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Service.ImageStorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Lưu ảnh trên ổ đĩa theo SHA-256 của nội dung: cùng một ảnh chỉ lưu một lần, file không bao giờ bị sửa
+// nên /image/{key} cache được vĩnh viễn. Dùng khi chạy offline hoặc load test (image.storage=local)
+@Component
+@ConditionalOnProperty(name = "image.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.[a-z]{3,4}");
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
+    @Value("${image.local.dir:${user.home}/uthmentor-images}")
+    private Path root;
+
+    // tiền tố URL trả về cho client, vd. https://cdn.example.com/image/
+    @Value("${image.local.base-url:/image/}")
+    private String baseUrl;
+
+    @PostConstruct
+    public void createRoot() throws IOException {
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported image type: " + contentType);
+        }
+
+        // chép sang file tạm cạnh thư mục đích và tính hash trong cùng một lượt đọc
+        Path temp = Files.createTempFile(root, "incoming-", ".tmp");
+        String hash;
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+
+            String key = hash + "." + extension;
+            Path target = pathOf(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return baseUrl + key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // key không hợp lệ (vd. chứa "../") thì coi như không có
+    public Optional<Path> find(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public static String contentTypeOf(String key) {
+        String extension = key.substring(key.lastIndexOf('.') + 1);
+        return EXTENSIONS.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(extension))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse("application/octet-stream");
+    }
+
+    // chia thư mục theo 2 ký tự đầu của hash để một thư mục không chứa quá nhiều file
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
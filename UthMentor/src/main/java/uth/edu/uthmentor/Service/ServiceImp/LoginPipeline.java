@@ -0,0 +1,96 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Exception.TooManyRequestsException;
+import uth.edu.uthmentor.Model.User;
+import uth.edu.uthmentor.Repository.UserRepository;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Đăng nhập: tra user một lần trên thread request, so mật khẩu BCrypt trên loginExecutor có giới hạn hàng đợi.
+// Hàng đợi đầy thì trả 429 ngay thay vì giữ thread của Tomcat.
+@Component
+@RequiredArgsConstructor
+public class LoginPipeline {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor loginExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${login.timeout-ms:10000}")
+    private long timeoutMs;
+
+    // hash giả để user không tồn tại cũng tốn thời gian như user có thật
+    private String dummyHash;
+    private Timer queueWait;
+
+    @PostConstruct
+    public void init() {
+        dummyHash = passwordEncoder.encode("uthmentor-login-timing");
+        queueWait = Timer.builder("login.queue.wait").register(meterRegistry);
+        Gauge.builder("login.queue.depth", loginExecutor, executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("login.active", loginExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public User authenticate(String username, String password) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            User user = username == null ? null : userRepository.findByUsernameIgnoreCase(username).orElse(null);
+            String hash = user != null && user.getPassword() != null ? user.getPassword() : dummyHash;
+            String rawPassword = password != null ? password : "";
+
+            long submittedAt = System.nanoTime();
+            Future<Boolean> check;
+            try {
+                check = loginExecutor.submit(() -> {
+                    queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                    return passwordEncoder.matches(rawPassword, hash);
+                });
+            } catch (TaskRejectedException e) {
+                outcome = "rejected";
+                throw new TooManyRequestsException("Too many login attempts, please try again later");
+            }
+
+            boolean matches;
+            try {
+                matches = check.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                check.cancel(true);
+                outcome = "timeout";
+                throw new TooManyRequestsException("Login is busy, please try again later");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Login interrupted");
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Login failed", e.getCause());
+            }
+
+            if (user == null || password == null || !matches) {
+                outcome = "bad_credentials";
+                throw new BadCredentialsException("Bad credentials");
+            }
+            outcome = "success";
+            return user;
+        } finally {
+            Timer.builder("login.duration").tag("outcome", outcome).register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
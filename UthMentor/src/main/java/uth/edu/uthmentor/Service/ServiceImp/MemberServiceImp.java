@@ -2,6 +2,7 @@ package uth.edu.uthmentor.Service.ServiceImp;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uth.edu.uthmentor.Dto.MemberDto;
 import uth.edu.uthmentor.Model.Member;
 import uth.edu.uthmentor.Model.User;
@@ -18,6 +19,7 @@ public class MemberServiceImp implements MemberService {
     private final MemberRepository memberRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public List<MemberDto> getAllMembers() {
         List<Member> membersDB = memberRepository.findAll();
         return membersDB.stream().map(this::memberToDto).collect(Collectors.toList());
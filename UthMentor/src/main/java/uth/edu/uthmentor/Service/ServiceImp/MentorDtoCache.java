@@ -0,0 +1,77 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Config.ReplicaRouting;
+import uth.edu.uthmentor.Dto.MentorDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Cache MentorDto đã lắp ráp sẵn; bị xóa đúng entry khi mentor, lịch hoặc đánh giá thay đổi
+@Component
+@RequiredArgsConstructor
+public class MentorDtoCache {
+
+    private static final String ALL_MENTORS = "all";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mentor.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${mentor.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    // AsyncCache để nạp qua CacheLoads, không giữ lock của map trong lúc truy vấn DB
+    private AsyncCache<Long, MentorDto> mentors;
+    private AsyncCache<String, List<MentorDto>> mentorLists;
+
+    @PostConstruct
+    public void buildCaches() {
+        mentors = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        mentorLists = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, mentors.synchronous(), "mentorDto");
+        CaffeineCacheMetrics.monitor(meterRegistry, mentorLists.synchronous(), "mentorDtoList");
+    }
+
+    // Nạp từ primary: ngay sau evict, replica có thể chưa có thay đổi vừa commit
+    public MentorDto get(Long mentorId, Function<Long, MentorDto> loader) {
+        return CacheLoads.get(mentors, mentorId, id -> ReplicaRouting.onPrimary(() -> loader.apply(id)));
+    }
+
+    public List<MentorDto> getAll(Supplier<List<MentorDto>> loader) {
+        return CacheLoads.get(mentorLists, ALL_MENTORS, key -> ReplicaRouting.onPrimary(() -> List.copyOf(loader.get())));
+    }
+
+    // Trong transaction thì chỉ xóa sau khi commit, tránh request khác nạp lại dữ liệu cũ
+    public void evict(Long mentorId) {
+        AfterCommit.run(() -> {
+            mentors.synchronous().invalidate(mentorId);
+            mentorLists.synchronous().invalidateAll();
+        });
+    }
+
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            mentors.synchronous().invalidateAll();
+            mentorLists.synchronous().invalidateAll();
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Repository.MentorRepository;
+
+// Đồng bộ lại ratingCount/ratingSum của Mentor từ bảng review (dữ liệu cũ, review bị xóa tay...)
+@Component
+@RequiredArgsConstructor
+public class MentorRatingReconciler {
+
+    private final MentorRepository mentorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MentorDtoCache mentorDtoCache;
+
+    @Scheduled(cron = "${rating.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        Integer updated = transactionTemplate.execute(status -> mentorRepository.rebuildRatings());
+        mentorDtoCache.evictAll();
+        return updated != null ? updated : 0;
+    }
+}
@@ -1,9 +1,8 @@
 package uth.edu.uthmentor.Service.ServiceImp;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import uth.edu.uthmentor.Dto.MentorRequestDto;
 import uth.edu.uthmentor.Dto.UserInfoDto;
@@ -13,10 +12,9 @@ import uth.edu.uthmentor.Repository.FieldRepository;
 import uth.edu.uthmentor.Repository.MentorRequestRepository;
 import uth.edu.uthmentor.Service.MentorRequestService;
 
-import java.io.IOException;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,7 +24,7 @@ public class MentorRequestServiceImp implements MentorRequestService {
 
     private final FieldRepository fieldRepository;
     private final MentorRequestRepository mentorRequestRepository;
-    private final Cloudinary cloudinary;
+    private final ImageUploadWorker imageUploadWorker;
 
     @Override
     public MentorRequestDto createMentorRequest(MentorRequestDto mentorRequestDto, User user, MultipartFile file) {
@@ -42,7 +40,8 @@ public class MentorRequestServiceImp implements MentorRequestService {
                 .map(DayOfWeek::valueOf)
                 .collect(Collectors.toSet());
 
-        String imageUrl = uploadFile(file);
+        // chỉ ghi file ra đĩa, upload lên storage chạy nền sau khi lưu request
+        Path stagedImage = imageUploadWorker.stage(file);
 
         MentorRequest mentorRequest =  MentorRequest.builder()
                 .startTime(mentorRequestDto.getStartTime())
@@ -53,17 +52,28 @@ public class MentorRequestServiceImp implements MentorRequestService {
                 .daysOfWeek(days)
                 .fee(mentorRequestDto.getFee())
                 .description(mentorRequestDto.getDescription())
-                .imageUrl(imageUrl)
+                .imageState(ImageState.PENDING)
+                .stagedImagePath(stagedImage.toString())
+                .imageContentType(file.getContentType())
                 .build();
 
-        MentorRequest savedMenRequest = mentorRequestRepository.save(mentorRequest);
+        MentorRequest savedMenRequest;
+        try {
+            savedMenRequest = mentorRequestRepository.save(mentorRequest);
+        } catch (RuntimeException e) {
+            imageUploadWorker.discard(stagedImage);
+            throw e;
+        }
+        imageUploadWorker.submit(savedMenRequest.getId());
 
         mentorRequestDto.setStatus(savedMenRequest.getStatus().name());
         mentorRequestDto.setId(savedMenRequest.getId());
+        mentorRequestDto.setImageState(ImageState.PENDING.name());
         return mentorRequestDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MentorRequestDto> getAllMentorRequests() {
         List<MentorRequest> mentorRequests = mentorRequestRepository.findAll();
         List<MentorRequestDto> mentorRequestDtos = mentorRequests.stream().map(this::menRequestToDto).collect(Collectors.toList());
@@ -93,15 +103,6 @@ public class MentorRequestServiceImp implements MentorRequestService {
         }
     }
 
-    private String uploadFile(MultipartFile file){
-        try{
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap("resource_type", "auto"));
-            return uploadResult.get("secure_url").toString();
-        }catch (IOException e){
-            throw new RuntimeException("Lỗi khi upload file: " + e.getMessage());
-        }
-    }
-
     private MentorRequestDto menRequestToDto(MentorRequest mentorRequest){
         MentorRequestDto dto = new MentorRequestDto();
         dto.setId(mentorRequest.getId());
@@ -129,6 +130,8 @@ public class MentorRequestServiceImp implements MentorRequestService {
         dto.setFee(mentorRequest.getFee());
         dto.setDescription(mentorRequest.getDescription());
         dto.setCreatedAt(mentorRequest.getCreatedAt());
+        dto.setImageUrl(mentorRequest.getImageUrl());
+        dto.setImageState(mentorRequest.getImageState() != null ? mentorRequest.getImageState().name() : null);
         return dto;
     }
 }
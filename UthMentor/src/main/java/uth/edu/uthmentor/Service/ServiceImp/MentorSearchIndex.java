@@ -0,0 +1,335 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Config.ReplicaRouting;
+import uth.edu.uthmentor.Dto.MentorSearchDoc;
+import uth.edu.uthmentor.Repository.MentorRepository;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Chỉ mục trigram trong bộ nhớ cho tên mentor, tên lĩnh vực và mô tả.
+// Giữ đúng ngữ nghĩa LIKE '%x%' của searchMentors nhưng không phải quét bảng.
+@Component
+@RequiredArgsConstructor
+public class MentorSearchIndex {
+
+    public static final int PAGE_SIZE = 10;
+
+    private static final int GRAM = 3;
+    private static final char NAME = 'n';
+    private static final char FIELD = 'f';
+    private static final char DESCRIPTION = 'd';
+    private static final char[] TAGS = {NAME, FIELD, DESCRIPTION};
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final MentorRepository mentorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot snapshot = new Snapshot();
+
+    private volatile boolean ready;
+    // id được cập nhật trong lúc đang rebuild, phải áp lại sau khi thay snapshot
+    private final Set<Long> changedDuringRebuild = Collections.synchronizedSet(new HashSet<>());
+    private volatile boolean rebuilding;
+
+    private record Entry(Long id, String sortKey, String name, String field, String description) {
+    }
+
+    private record Hit(Entry entry, int score) {
+    }
+
+    // Mỗi mentor giữ một slot cố định; posting là BitSet theo slot nên giao/hợp chỉ là and/or trên long
+    private static final class Snapshot {
+        private final List<Entry> slots = new ArrayList<>();
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private final Map<String, BitSet> postings = new HashMap<>();
+        private final NavigableMap<String, Long> byName = new TreeMap<>();
+        private final BitSet live = new BitSet();
+
+        private void add(Entry entry) {
+            Integer slot = freeSlots.poll();
+            if (slot == null) {
+                slot = slots.size();
+                slots.add(entry);
+            } else {
+                slots.set(slot, entry);
+            }
+            slotById.put(entry.id(), slot);
+            live.set(slot);
+            byName.put(entry.sortKey(), entry.id());
+            for (char tag : TAGS) {
+                for (String gram : grams(text(entry, tag))) {
+                    postings.computeIfAbsent(tag + gram, key -> new BitSet()).set(slot);
+                }
+            }
+        }
+
+        private void remove(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            Entry entry = slots.set(slot, null);
+            live.clear(slot);
+            freeSlots.push(slot);
+            byName.remove(entry.sortKey());
+            for (char tag : TAGS) {
+                for (String gram : grams(text(entry, tag))) {
+                    BitSet posting = postings.get(tag + gram);
+                    if (posting != null) {
+                        posting.clear(slot);
+                        if (posting.isEmpty()) {
+                            postings.remove(tag + gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread warmUp = new Thread(this::rebuild, "mentor-search-warmup");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            Snapshot fresh = new Snapshot();
+            for (MentorSearchDoc doc : ReplicaRouting.onPrimary(mentorRepository::findAllSearchDocs)) {
+                fresh.add(toEntry(doc));
+            }
+
+            lock.writeLock().lock();
+            try {
+                snapshot = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+        List<Long> changed;
+        synchronized (changedDuringRebuild) {
+            changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+        }
+        changed.forEach(this::reload);
+        ready = true;
+    }
+
+    // Gọi khi mentor được tạo hoặc cập nhật; chạy sau commit để đọc được dữ liệu mới
+    public void refresh(Long mentorId) {
+        AfterCommit.run(() -> {
+            if (rebuilding) {
+                changedDuringRebuild.add(mentorId);
+            }
+            reload(mentorId);
+        });
+    }
+
+    // Nhiều mentor cùng đổi (duyệt hàng loạt): một truy vấn cho cả nhóm
+    public void refresh(Collection<Long> mentorIds) {
+        if (mentorIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(mentorIds);
+        AfterCommit.run(() -> {
+            if (rebuilding) {
+                changedDuringRebuild.addAll(ids);
+            }
+            List<MentorSearchDoc> docs = ReplicaRouting.onPrimary(() -> mentorRepository.findSearchDocs(ids));
+            lock.writeLock().lock();
+            try {
+                ids.forEach(snapshot::remove);
+                docs.stream().map(this::toEntry).forEach(snapshot::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void reload(Long mentorId) {
+        Optional<MentorSearchDoc> doc = ReplicaRouting.onPrimary(() -> mentorRepository.findSearchDoc(mentorId));
+        lock.writeLock().lock();
+        try {
+            snapshot.remove(mentorId);
+            doc.map(this::toEntry).ifPresent(snapshot::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Trả về id mentor của trang yêu cầu, xếp theo độ liên quan rồi theo tên
+    public List<Long> search(String name, String field, String query, int page) {
+        String nameTerm = normalize(name);
+        String fieldTerm = normalize(field);
+        List<String> queryTokens = tokens(query);
+        int limit = (page + 1) * PAGE_SIZE;
+
+        lock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            if (nameTerm == null && fieldTerm == null && queryTokens.isEmpty()) {
+                return current.byName.values().stream().skip((long) page * PAGE_SIZE).limit(PAGE_SIZE).toList();
+            }
+
+            BitSet candidates = (BitSet) current.live.clone();
+            if (nameTerm != null) {
+                candidates.and(matching(current, NAME, nameTerm));
+            }
+            if (fieldTerm != null) {
+                candidates.and(matching(current, FIELD, fieldTerm));
+            }
+            if (!queryTokens.isEmpty()) {
+                BitSet anyToken = new BitSet();
+                for (String token : queryTokens) {
+                    for (char tag : TAGS) {
+                        anyToken.or(matching(current, tag, token));
+                    }
+                }
+                candidates.and(anyToken);
+            }
+
+            // chỉ giữ limit kết quả tốt nhất trong heap thay vì sắp xếp toàn bộ
+            Comparator<Hit> order = Comparator.comparingInt(Hit::score).reversed()
+                    .thenComparing(hit -> hit.entry().sortKey());
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, order.reversed());
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                Entry entry = current.slots.get(slot);
+                // trigram khớp chưa chắc là chuỗi con, kiểm tra lại
+                if (nameTerm != null && !contains(entry.name(), nameTerm)
+                        || fieldTerm != null && !contains(entry.field(), fieldTerm)) {
+                    continue;
+                }
+                int score = 3 * quality(entry.name(), nameTerm) + 2 * quality(entry.field(), fieldTerm);
+                int queryScore = 0;
+                for (String token : queryTokens) {
+                    queryScore += 3 * quality(entry.name(), token) + 2 * quality(entry.field(), token) + quality(entry.description(), token);
+                }
+                if (!queryTokens.isEmpty() && queryScore == 0) {
+                    continue;
+                }
+                best.add(new Hit(entry, score + queryScore));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(order);
+            return hits.stream().skip((long) page * PAGE_SIZE).map(hit -> hit.entry().id()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Các slot chứa đủ mọi trigram của term
+    private static BitSet matching(Snapshot current, char tag, String term) {
+        if (term.length() < GRAM) {
+            // từ quá ngắn để có trigram: quét toàn bộ
+            BitSet result = new BitSet();
+            for (int slot = current.live.nextSetBit(0); slot >= 0; slot = current.live.nextSetBit(slot + 1)) {
+                if (contains(text(current.slots.get(slot), tag), term)) {
+                    result.set(slot);
+                }
+            }
+            return result;
+        }
+
+        BitSet result = null;
+        for (String gram : grams(term)) {
+            BitSet posting = current.postings.get(tag + gram);
+            if (posting == null) {
+                return new BitSet();
+            }
+            if (result == null) {
+                result = (BitSet) posting.clone();
+            } else {
+                result.and(posting);
+            }
+        }
+        return result;
+    }
+
+    // 3 = trùng khớp, 2 = đầu một từ, 1 = nằm giữa, 0 = không khớp
+    private static int quality(String text, String term) {
+        if (term == null || text == null) {
+            return 0;
+        }
+        int at = text.indexOf(term);
+        if (at < 0) {
+            return 0;
+        }
+        if (at == 0 && text.length() == term.length()) {
+            return 3;
+        }
+        while (at >= 0) {
+            if (at == 0 || text.charAt(at - 1) == ' ') {
+                return 2;
+            }
+            at = text.indexOf(term, at + 1);
+        }
+        return 1;
+    }
+
+    private static boolean contains(String text, String term) {
+        return text != null && text.contains(term);
+    }
+
+    private static String text(Entry entry, char tag) {
+        return switch (tag) {
+            case NAME -> entry.name();
+            case FIELD -> entry.field();
+            default -> entry.description();
+        };
+    }
+
+    private Entry toEntry(MentorSearchDoc doc) {
+        String name = normalize(doc.getFullName());
+        String sortKey = (name == null ? "" : name) + "\u0000" + doc.getId();
+        return new Entry(doc.getId(), sortKey, name, normalize(doc.getFieldName()), normalize(doc.getDescription()));
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static List<String> tokens(String query) {
+        String normalized = normalize(query);
+        return normalized == null ? List.of() : List.of(normalized.split(" "));
+    }
+
+    // chữ thường, bỏ dấu tiếng Việt, gộp khoảng trắng (giống collation *_ai_ci của MySQL)
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String lower = value.trim().toLowerCase().replace('đ', 'd');
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped).replaceAll(" ");
+    }
+}
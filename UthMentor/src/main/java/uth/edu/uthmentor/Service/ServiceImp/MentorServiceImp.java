@@ -1,11 +1,17 @@
 package uth.edu.uthmentor.Service.ServiceImp;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import uth.edu.uthmentor.Dto.MentorDecisionDto;
+import uth.edu.uthmentor.Dto.MentorDecisionResultDto;
+import uth.edu.uthmentor.Dto.FieldInfoDto;
 import uth.edu.uthmentor.Dto.MentorDto;
 import uth.edu.uthmentor.Dto.MentorRequestDto;
 import uth.edu.uthmentor.Model.*;
@@ -13,73 +19,193 @@ import uth.edu.uthmentor.Repository.*;
 import uth.edu.uthmentor.Service.MentorService;
 
 import java.time.DayOfWeek;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class MentorServiceImp implements MentorService {
 
     private final MentorRequestRepository mentorRequestRepository;
     private final MentorRepository mentorRepository;
-    private final UserRepository userRepository;
     private final ScheduleRepository scheduleRepository;
     private final FieldRepository fieldRepository;
-    private final ReviewRepository reviewRepository;
+    private final MentorDtoCache mentorDtoCache;
+    private final MentorSearchIndex mentorSearchIndex;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String REQUEST_NOT_FOUND = "Can't find this mentor request";
+    private static final String ALREADY_MENTOR = "User is already a mentor";
+    private static final String APPROVED_MESSAGE = "Mentor request approved successfully";
+    private static final String PENDING_MESSAGE = "Mentor request is still pending";
+    private static final String REJECTED_MESSAGE = "Mentor request rejected.";
+
+    // số request mỗi transaction khi duyệt hàng loạt, nên bằng hibernate.jdbc.batch_size
+    @Value("${mentor.decision.chunk-size:50}")
+    private int decisionChunkSize;
+
+    @Value("${mentor.decision.max-items:1000}")
+    private int decisionMaxItems;
 
     @Override
+    @Transactional
     public String decideMentorRequest(MentorDecisionDto decisionDto) {
-        MentorRequest mentorRequest = mentorRequestRepository.findById(decisionDto.getMentorRequestId()).orElseThrow(()-> new RuntimeException("Can't find this mentor request"));
-        Status seekStatus;
-        try{
-            seekStatus = Status.valueOf(decisionDto.getStatus());
-        }catch (IllegalArgumentException e){
-            throw new IllegalArgumentException("Invalid status");
-        }
+        MentorRequest mentorRequest = mentorRequestRepository.findDecisionById(decisionDto.getMentorRequestId()).orElseThrow(()-> new RuntimeException(REQUEST_NOT_FOUND));
+        Status seekStatus = parseStatus(decisionDto.getStatus());
 
         if(seekStatus.equals(Status.APPROVED)){
-            boolean checkExistedMen = mentorRepository.existsByUserId(mentorRequest.getUser().getId());
-            if(checkExistedMen){
-                throw new IllegalStateException("User is already a mentor");
+            if(mentorRequest.getUser().getMentor() != null){
+                throw new IllegalStateException(ALREADY_MENTOR);
             }
+            Mentor createMentor = approve(mentorRequest);
+            mentorRequest.setStatus(Status.APPROVED);
+            mentorSearchIndex.refresh(createMentor.getId());
+            return APPROVED_MESSAGE;
+        }
+        else if(seekStatus == Status.PENDING){
+            return PENDING_MESSAGE;
+        }
+        else{
+            mentorRequest.setStatus(Status.REJECTED);
+            return REJECTED_MESSAGE;
+        }
+    }
 
-            Mentor createMentor = Mentor.builder()
-                    .fullName(mentorRequest.getUser().getFirstName() + " "+mentorRequest.getUser().getLastName())
-                    .role(Role.MENTOR)
-                    .field(mentorRequest.getField())
-                    .user(mentorRequest.getUser())
-                    .fee(mentorRequest.getFee())
-                    .description(mentorRequest.getDescription())
-                    .imageUrl(mentorRequest.getImageUrl())
-                    .build();
-            mentorRepository.save(createMentor);
+    @Override
+    public List<MentorDecisionResultDto> decideMentorRequests(List<MentorDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new IllegalArgumentException("No mentor requests to decide");
+        }
+        if (decisions.size() > decisionMaxItems) {
+            throw new IllegalArgumentException("Too many mentor requests, at most " + decisionMaxItems + " per call");
+        }
+        List<MentorDecisionResultDto> results = new ArrayList<>(decisions.size());
+        for (int from = 0; from < decisions.size(); from += decisionChunkSize) {
+            results.addAll(decideChunk(decisions.subList(from, Math.min(from + decisionChunkSize, decisions.size()))));
+        }
+        return results;
+    }
 
-            mentorRequest.setStatus(Status.APPROVED);
-            mentorRequestRepository.save(mentorRequest);
+    // Mỗi nhóm một transaction. Lỗi lúc ghi/commit làm rollback cả nhóm: chạy lại từng item để chỉ item lỗi thất bại
+    private List<MentorDecisionResultDto> decideChunk(List<MentorDecisionDto> chunk) {
+        try {
+            return transactionTemplate.execute(status -> decideInTransaction(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                MentorDecisionDto decision = chunk.get(0);
+                log.warn("Mentor request {} decision failed", decision.getMentorRequestId(), e);
+                return List.of(new MentorDecisionResultDto(decision.getMentorRequestId(), false, "Could not save this decision"));
+            }
+            List<MentorDecisionResultDto> results = new ArrayList<>(chunk.size());
+            for (MentorDecisionDto decision : chunk) {
+                results.addAll(decideChunk(List.of(decision)));
+            }
+            return results;
+        }
+    }
 
-            User user = userRepository.findById(mentorRequest.getUser().getId()).orElseThrow();
-            user.setRole(createMentor.getRole());
-            userRepository.save(user);
+    // Cả nhóm nạp trong một truy vấn; insert/update được gom thành batch JDBC khi flush
+    private List<MentorDecisionResultDto> decideInTransaction(List<MentorDecisionDto> chunk) {
+        Set<Long> requestIds = chunk.stream()
+                .map(MentorDecisionDto::getMentorRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, MentorRequest> requests = requestIds.isEmpty() ? Map.of()
+                : mentorRequestRepository.findDecisionsByIdIn(requestIds).stream()
+                .collect(Collectors.toMap(MentorRequest::getId, request -> request));
+        Set<Long> mentorUserIds = requests.values().stream()
+                .map(MentorRequest::getUser)
+                .filter(user -> user.getMentor() != null)
+                .map(User::getId)
+                .collect(Collectors.toCollection(HashSet::new));
 
-            Schedule createSchedule = Schedule.builder()
-                    .mentor(createMentor)
-                    .daysOfWeek(new HashSet<>(mentorRequest.getDaysOfWeek()))
-                    .startTime(mentorRequest.getStartTime())
-                    .endTime(mentorRequest.getEndTime())
-                    .build();
+        List<MentorDecisionResultDto> results = new ArrayList<>(chunk.size());
+        List<Long> createdMentorIds = new ArrayList<>();
+        // id trùng trong một nhóm: quyết định sau cùng thắng, như khi gọi lần lượt
+        Map<Long, Status> decided = new LinkedHashMap<>();
+        for (MentorDecisionDto decision : chunk) {
+            Long requestId = decision.getMentorRequestId();
+            MentorRequest mentorRequest = requests.get(requestId);
+            if (mentorRequest == null) {
+                results.add(new MentorDecisionResultDto(requestId, false, REQUEST_NOT_FOUND));
+                continue;
+            }
+            Status seekStatus;
+            try {
+                seekStatus = parseStatus(decision.getStatus());
+            } catch (IllegalArgumentException e) {
+                results.add(new MentorDecisionResultDto(requestId, false, e.getMessage()));
+                continue;
+            }
 
-            scheduleRepository.save(createSchedule);
-            return "Mentor request approved successfully";
+            if (seekStatus == Status.APPROVED) {
+                // user đã là mentor, kể cả do item trước trong cùng lần gọi
+                if (!mentorUserIds.add(mentorRequest.getUser().getId())) {
+                    results.add(new MentorDecisionResultDto(requestId, false, ALREADY_MENTOR));
+                    continue;
+                }
+                createdMentorIds.add(approve(mentorRequest).getId());
+                decided.put(requestId, Status.APPROVED);
+                results.add(new MentorDecisionResultDto(requestId, true, APPROVED_MESSAGE));
+            } else if (seekStatus == Status.PENDING) {
+                results.add(new MentorDecisionResultDto(requestId, true, PENDING_MESSAGE));
+            } else {
+                decided.put(requestId, Status.REJECTED);
+                results.add(new MentorDecisionResultDto(requestId, true, REJECTED_MESSAGE));
+            }
         }
-        else if(seekStatus == Status.PENDING){
-            return "Mentor request is still pending";
+        decided.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue, Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((status, ids) -> mentorRequestRepository.updateStatus(ids, status));
+        mentorSearchIndex.refresh(createdMentorIds);
+        return results;
+    }
+
+    // Tạo mentor và schedule từ request, đổi role của user; status của request do nơi gọi ghi.
+    // Entity đang managed: thay đổi được flush khi commit
+    private Mentor approve(MentorRequest mentorRequest) {
+        User user = mentorRequest.getUser();
+        Mentor createMentor = Mentor.builder()
+                .fullName(user.getFirstName() + " "+user.getLastName())
+                .role(Role.MENTOR)
+                .field(mentorRequest.getField())
+                .user(user)
+                .fee(mentorRequest.getFee())
+                .description(mentorRequest.getDescription())
+                .imageUrl(mentorRequest.getImageUrl())
+                .cardImageUrl(mentorRequest.getCardImageUrl())
+                .thumbnailUrl(mentorRequest.getThumbnailUrl())
+                .build();
+        mentorRepository.save(createMentor);
+        // ảnh còn đang upload: khóa request rồi chép ảnh trong SQL. Worker ghi ảnh trước đó thì ảnh được chép;
+        // ghi sau thì chờ transaction này commit rồi mới tìm mentor, lúc đó đã thấy mentor vừa tạo
+        if (mentorRequest.getImageState() == ImageState.PENDING) {
+            mentorRequestRepository.lockById(mentorRequest.getId());
+            mentorRepository.copyImageFromRequest(createMentor.getId(), mentorRequest.getId());
         }
-        else{
-            mentorRequest.setStatus(Status.REJECTED);
-            mentorRequestRepository.save(mentorRequest);
-            return "Mentor request rejected.";
+
+        user.setRole(createMentor.getRole());
+        principalCache.evict(user.getId());
+
+        Schedule createSchedule = Schedule.builder()
+                .mentor(createMentor)
+                .daysOfWeek(new HashSet<>(mentorRequest.getDaysOfWeek()))
+                .startTime(mentorRequest.getStartTime())
+                .endTime(mentorRequest.getEndTime())
+                .build();
+
+        scheduleRepository.save(createSchedule);
+        mentorDtoCache.evict(createMentor.getId());
+        return createMentor;
+    }
+
+    private static Status parseStatus(String status) {
+        try{
+            return Status.valueOf(status);
+        }catch (IllegalArgumentException | NullPointerException e){
+            throw new IllegalArgumentException("Invalid status");
         }
     }
 
@@ -91,7 +217,7 @@ public class MentorServiceImp implements MentorService {
         Field field = fieldRepository.findById(mentorRequestDto.getFieldId())
                 .orElseThrow(() -> new RuntimeException("Field not found"));
 
-        Schedule sche = scheduleRepository.findById(menDB.getId())
+        Schedule sche = scheduleRepository.findByMentor(menDB)
                 .orElseThrow(() -> new RuntimeException("Schedule not found"));
 
 
@@ -126,12 +252,25 @@ public class MentorServiceImp implements MentorService {
         mentorRepository.save(menDB);
         sche.setMentor(menDB);
         scheduleRepository.save(sche);
+        mentorDtoCache.evict(menDB.getId());
+        mentorSearchIndex.refresh(menDB.getId());
 
         return "Update mentor successfully";
     }
 
     @Override
-    public List<MentorDto> findByMentorNameOrField(String name, String field, String page) {
+    public List<MentorDto> findByMentorNameOrField(String name, String field, String query, String page) {
+        int pageNumber = Integer.parseInt(page);
+        if (mentorSearchIndex.isReady()) {
+            return mentorSearchIndex.search(name, field, query, pageNumber).stream()
+                    .map(this::getMentorById)
+                    .collect(Collectors.toList());
+        }
+
+        // Chỉ mục đang khởi tạo: dùng truy vấn cũ, q được xem như tên mentor
+        if(name == null || name.trim().isEmpty()){
+            name = query;
+        }
         if(name != null && !name.trim().toLowerCase().isEmpty()){
             name = name.trim().toLowerCase();
         }else {
@@ -142,27 +281,30 @@ public class MentorServiceImp implements MentorService {
         }else {
             field = null;
         }
-        Pageable pageable = PageRequest.of(Integer.parseInt(page), 10, Sort.by("fullName").ascending());
+        Pageable pageable = PageRequest.of(pageNumber, MentorSearchIndex.PAGE_SIZE, Sort.by("fullName").ascending());
 
         List<Mentor> mentors = mentorRepository.searchMentors(name, field, pageable).getContent();
 
-        return mentors.stream().map(this::mapToMenDto).collect(Collectors.toList());
+        return mentors.stream()
+                .map(mentor -> mentorDtoCache.get(mentor.getId(), id -> mapToMenDto(mentor)))
+                .collect(Collectors.toList());
     }
 
     @Override
     public MentorDto getMentorProfile(User user) {
-        return mapToMenDto(user.getMentor());
+        return getMentorById(user.getMentor().getId());
     }
 
     @Override
     public MentorDto getMentorById(Long id) {
-        return mapToMenDto(mentorRepository.findById(id).orElseThrow(()-> new IllegalArgumentException("Mentor not found")));
+        return mentorDtoCache.get(id, mentorId -> mapToMenDto(mentorRepository.findProfileById(mentorId).orElseThrow(()-> new IllegalArgumentException("Mentor not found"))));
     }
 
     @Override
     public List<MentorDto> getAllMentor() {
-        List<Mentor> mensDB = mentorRepository.findAll();
-        return mensDB.stream().map(this::mapToMenDto).collect(Collectors.toList());
+        return mentorDtoCache.getAll(() -> mentorRepository.findAll().stream()
+                .map(mentor -> mentorDtoCache.get(mentor.getId(), id -> mapToMenDto(mentor)))
+                .collect(Collectors.toList()));
     }
 
     private MentorDto mapToMenDto(Mentor mentor) {
@@ -171,16 +313,18 @@ public class MentorServiceImp implements MentorService {
         dto.setFullName(mentor.getFullName());
         dto.setFirstName(mentor.getUser().getFirstName());
         dto.setLastName(mentor.getUser().getLastName());
-        dto.setField(mentor.getField());
-        dto.setFieldName(mentor.getField() != null ? mentor.getField().getName() : null);
+        Field field = mentor.getField();
+        dto.setField(field != null ? new FieldInfoDto(field.getId(), field.getName(), field.getDescription()) : null);
         dto.setEmail(mentor.getUser().getEmail());
         dto.setImageUrl(mentor.getImageUrl());
+        // mentor cũ chưa có bản thu nhỏ thì dùng ảnh gốc
+        dto.setCardImageUrl(mentor.getCardImageUrl() != null ? mentor.getCardImageUrl() : mentor.getImageUrl());
+        dto.setThumbnailUrl(mentor.getThumbnailUrl() != null ? mentor.getThumbnailUrl() : mentor.getImageUrl());
         dto.setFee(mentor.getFee());
         dto.setDescription(mentor.getDescription());
         dto.setAddress(mentor.getUser().getAddress());
         dto.setRole(mentor.getRole().name());
-        Double avgRating = reviewRepository.findAverageRatingByMentorId(mentor.getId());
-        dto.setRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0);
+        dto.setRating(averageRating(mentor));
         dto.setPhoneNumber(mentor.getUser().getPhoneNumber());
         dto.setDob(mentor.getUser().getDob());
         
@@ -194,4 +338,13 @@ public class MentorServiceImp implements MentorService {
         
         return dto;
     }
+
+    private double averageRating(Mentor mentor) {
+        Long count = mentor.getRatingCount();
+        if (count == null || count == 0) {
+            return 0.0;
+        }
+        double avgRating = (double) mentor.getRatingSum() / count;
+        return Math.round(avgRating * 10.0) / 10.0;
+    }
 }
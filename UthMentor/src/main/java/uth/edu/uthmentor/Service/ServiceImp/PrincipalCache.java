@@ -0,0 +1,87 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import uth.edu.uthmentor.Config.ReplicaRouting;
+import uth.edu.uthmentor.Model.User;
+import uth.edu.uthmentor.Repository.UserRepository;
+
+import java.time.Duration;
+
+// Cache User đã xác thực theo id trong token để request có JWT không phải truy vấn DB
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // AsyncCache để nạp qua CacheLoads, không giữ lock của map trong lúc truy vấn DB
+    private AsyncCache<Long, User> principals;
+
+    @PostConstruct
+    public void buildCache() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals.synchronous(), "principal");
+    }
+
+    // Đối chiếu username trong token, phòng trường hợp id bị dùng lại (vd. sau khi khôi phục DB).
+    // Mỗi request nhận một bản sao vì service có thể sửa User (vd. setRole khi đặt lịch)
+    public User get(Long userId, String username) {
+        User cached = CacheLoads.get(principals, userId, this::load);
+        if (!cached.getUsername().equalsIgnoreCase(username)) {
+            principals.synchronous().invalidate(userId);
+            cached = CacheLoads.get(principals, userId, this::load);
+            if (!cached.getUsername().equalsIgnoreCase(username)) {
+                throw new UsernameNotFoundException("Token does not match user " + userId);
+            }
+        }
+        return copyOf(cached);
+    }
+
+    private User load(Long userId) {
+        return ReplicaRouting.onPrimary(() -> userRepository.findById(userId))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id " + userId));
+    }
+
+    // Gọi khi role, hồ sơ mentor hoặc member của user thay đổi
+    public void evict(Long userId) {
+        AfterCommit.run(() -> principals.synchronous().invalidate(userId));
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .phoneNumber(user.getPhoneNumber())
+                .role(user.getRole())
+                .username(user.getUsername())
+                .address(user.getAddress())
+                .dob(user.getDob())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .mentor(user.getMentor())
+                .member(user.getMember())
+                .build();
+    }
+}
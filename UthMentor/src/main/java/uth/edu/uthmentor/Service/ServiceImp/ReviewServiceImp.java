@@ -2,6 +2,7 @@ package uth.edu.uthmentor.Service.ServiceImp;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uth.edu.uthmentor.Dto.ReviewDto;
 import uth.edu.uthmentor.Model.*;
 import uth.edu.uthmentor.Repository.MemberRepository;
@@ -19,18 +20,27 @@ public class ReviewServiceImp implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final MentorRepository mentorRepository;
     private final MemberRepository memberRepository;
+    private final MentorDtoCache mentorDtoCache;
 
     @Override
+    @Transactional
     public String evaluateMen(User user, ReviewDto reviewDto) {
         if(!user.getRole().equals(Role.MEMBER)){
             throw new IllegalArgumentException("Only members can submit reviews");
         }
+        // addRating cộng thẳng vào tổng: điểm phải có và nằm trong 1-5
+        Integer rating = reviewDto.getRating();
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
 
         Mentor menDB = mentorRepository.findById(reviewDto.getMentorId()).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
         Member memberDB = user.getMember();
 
         Review review = mapToReview(reviewDto, memberDB, menDB);
         reviewRepository.save(review);
+        mentorRepository.addRating(menDB.getId(), rating);
+        mentorDtoCache.evict(menDB.getId());
 
         return "Review submitted successfully";
     }
@@ -45,10 +55,13 @@ public class ReviewServiceImp implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDto> getAllById(Long mentorId) {
-        Mentor menDB = mentorRepository.findById(mentorId).orElseThrow(() -> new IllegalArgumentException("Mentor not found"));
+        if (!mentorRepository.existsById(mentorId)) {
+            throw new IllegalArgumentException("Mentor not found");
+        }
 
-        List<Review> reviews = menDB.getReviews();
+        List<Review> reviews = reviewRepository.findByMentorIdOrderById(mentorId);
 
         return reviews.stream()
                 .map(this::mapToReviewDto)
@@ -0,0 +1,80 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Danh sách jti đã thu hồi (logout, refresh token đã dùng). Mỗi entry tự hết hạn đúng lúc token hết hạn,
+// nên kích thước chỉ bằng số token bị thu hồi còn hiệu lực. Không đặt maximumSize: xóa sớm là mở lại token.
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<UUID, Long> revoked;
+
+    @PostConstruct
+    public void buildCache() {
+        revoked = Caffeine.newBuilder()
+                .expireAfter(new Expiry<UUID, Long>() {
+                    @Override
+                    public long expireAfterCreate(UUID jti, Long expiresAt, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID jti, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID jti, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+        Gauge.builder("auth.revoked.tokens", revoked, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Trả về false nếu token đã bị thu hồi trước đó (vd. refresh token bị dùng lại)
+    public boolean revoke(Claims claims) {
+        UUID jti = jtiOf(claims);
+        if (jti == null || claims.getExpiration() == null) {
+            return false;
+        }
+        Long expiresAt = claims.getExpiration().getTime();
+        return revoked.asMap().putIfAbsent(jti, expiresAt) == null;
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (revoked.estimatedSize() == 0) {
+            return false;
+        }
+        UUID jti = jtiOf(claims);
+        return jti != null && revoked.getIfPresent(jti) != null;
+    }
+
+    private static UUID jtiOf(Claims claims) {
+        String id = claims.getId();
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,16 +1,16 @@
 package uth.edu.uthmentor.Service.ServiceImp;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import uth.edu.uthmentor.Dto.UserDto;
+import uth.edu.uthmentor.Dto.UserView;
 import uth.edu.uthmentor.Exception.DuplicateUserException;
 import uth.edu.uthmentor.Model.Role;
 import uth.edu.uthmentor.Model.User;
@@ -26,9 +26,10 @@ public class UserServiceImp implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final UserDetailsService userDetailsService;
-    private final AuthenticationManager authenticationManager;
+    private final LoginPipeline loginPipeline;
     private final JwtService jwtService;
+    private final TokenRevocationList tokenRevocationList;
+    private final PrincipalCache principalCache;
     private final JavaMailSender mailSender;
 
     @Value("${spring.mail.username}")
@@ -53,17 +54,53 @@ public class UserServiceImp implements UserService {
     @Override
     public Map<String, Object> authenticateUser(UserDto userDto) {
         Map<String, Object> authenticatedUser = new HashMap<>();
-        User user =(User) userDetailsService.loadUserByUsername(userDto.getUsername());
-        if(user == null){
-            throw new UsernameNotFoundException("User not found");
-        }
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(userDto.getUsername(), userDto.getPassword()));
-        authenticatedUser.put("token", jwtService.generateToken(userDto.getUsername()));
-        authenticatedUser.put("user", user);
+        User user = loginPipeline.authenticate(userDto.getUsername(), userDto.getPassword());
+        authenticatedUser.put("token", jwtService.generateToken(user));
+        authenticatedUser.put("refreshToken", jwtService.generateRefreshToken(user));
+        authenticatedUser.put("user", UserView.from(user));
         return authenticatedUser;
     }
 
-    
+    @Override
+    public Map<String, Object> refreshToken(String refreshToken) {
+        Claims claims = parseQuietly(refreshToken);
+        if (claims == null || !jwtService.isRefreshToken(claims)) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        // Xoay vòng: refresh token chỉ dùng được một lần, lần dùng lại sẽ bị từ chối
+        if (!tokenRevocationList.revoke(claims)) {
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+
+        User user = principalCache.get(jwtService.extractUserId(claims), claims.getSubject());
+        Map<String, Object> tokens = new HashMap<>();
+        tokens.put("token", jwtService.generateToken(user));
+        tokens.put("refreshToken", jwtService.generateRefreshToken(user));
+        return tokens;
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[]{accessToken, refreshToken}) {
+            Claims claims = parseQuietly(token);
+            if (claims != null) {
+                tokenRevocationList.revoke(claims);
+            }
+        }
+    }
+
+    // Token sai chữ ký, hết hạn hoặc rỗng thì trả null
+    private Claims parseQuietly(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return jwtService.parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
 
     private User mapToUser(UserDto userDto) {
         return User.builder()
@@ -10,6 +10,10 @@ public interface UserService {
 
     Map<String, Object> authenticateUser(UserDto userDto);
 
+    Map<String, Object> refreshToken(String refreshToken);
+
+    void logout(String accessToken, String refreshToken);
+
 
 
 }
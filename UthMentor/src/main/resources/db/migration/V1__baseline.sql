@@ -0,0 +1,132 @@
+-- Schema ban dau, giong het schema ma ddl-auto=update da tao truoc khi co migration.
+-- DB cu chi duoc danh dau la da chay V1 (baseline) nen file nay khong duoc chua thay doi nao moi hon;
+-- cot, bang, index them sau do nam trong V2 tro di.
+-- Ten constraint giu nguyen ten Hibernate sinh ra de DB cu (baseline) va DB moi giong nhau.
+-- Chay duoc tren MySQL 8 va H2 MODE=MySQL (test)
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255),
+    password varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    phone_number varchar(255),
+    address varchar(255),
+    dob datetime(6),
+    role enum ('ADMIN','MEMBER','MENTOR','USER'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table field (
+    id bigint not null auto_increment,
+    name varchar(255),
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table member (
+    id bigint not null auto_increment,
+    user_id bigint,
+    username varchar(255),
+    password varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    phone_number varchar(255),
+    address varchar(255),
+    dob datetime(6),
+    role enum ('ADMIN','MEMBER','MENTOR','USER'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table mentor (
+    id bigint not null auto_increment,
+    user_id bigint,
+    field_id bigint,
+    full_name varchar(255),
+    role enum ('ADMIN','MEMBER','MENTOR','USER'),
+    description varchar(255),
+    fee float(53),
+    image_url varchar(255),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table mentor_request (
+    id bigint not null auto_increment,
+    user_id bigint,
+    field_id bigint,
+    status enum ('APPROVED','CANCELLED','COMPLETED','NOT_APPROVED','PENDING','REJECTED'),
+    start_time time(6),
+    end_time time(6),
+    fee float(53),
+    description varchar(255),
+    image_url varchar(255),
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table mentor_request_days_of_week (
+    mentor_request_id bigint not null,
+    days_of_week enum ('FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY')
+) engine=InnoDB;
+
+create table schedule (
+    id bigint not null auto_increment,
+    mentor_id bigint,
+    start_time time(6),
+    end_time time(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table schedule_days (
+    schedule_id bigint not null,
+    day_of_week enum ('FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY')
+) engine=InnoDB;
+
+create table appointment (
+    id bigint not null auto_increment,
+    member_id bigint,
+    mentor_id bigint,
+    appointment_date date,
+    appointment_time time(6),
+    status enum ('APPROVED','CANCELLED','COMPLETED','NOT_APPROVED','PENDING','REJECTED'),
+    payment_method enum ('CASH','ONLINE'),
+    note varchar(255),
+    reason varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table review (
+    id bigint not null auto_increment,
+    member_id bigint,
+    mentor_id bigint,
+    rating integer,
+    comment varchar(255),
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table member add constraint UKa9bw6sk85ykh4bacjpu0ju5f6 unique (user_id);
+alter table mentor add constraint UKr6xhdjja3j8j68aw7x4i16ykt unique (user_id);
+alter table mentor_request add constraint UKpbnmxl8i2yh1m6fjutg5ydxr9 unique (user_id);
+
+alter table member add constraint FKe6yo8tn29so0kdd1mw4qk8tgh foreign key (user_id) references users (id);
+alter table mentor add constraint FK39hw5etqhlp8txlkgi5timm4d foreign key (field_id) references field (id);
+alter table mentor add constraint FKpnuc2btrta2rqf4a1p7i542gi foreign key (user_id) references users (id);
+alter table mentor_request add constraint FKm5gpbox9nx2o30sw1vpwxiws5 foreign key (field_id) references field (id);
+alter table mentor_request add constraint FKi0nfn4q9cdgeq0vej8svun8ed foreign key (user_id) references users (id);
+alter table mentor_request_days_of_week add constraint FK9botchkpuxwe9766ho55j7lwv foreign key (mentor_request_id) references mentor_request (id);
+alter table schedule add constraint FKsruq8i2gy9fhhxgcdru599uyh foreign key (mentor_id) references mentor (id);
+alter table schedule_days add constraint FKjyllqo39a64hu98c15rxrfw0n foreign key (schedule_id) references schedule (id);
+alter table appointment add constraint FKdbsjt9114v0t55d97yv1paneh foreign key (member_id) references member (id);
+alter table appointment add constraint FK3t4idcpa9idlnyxu276gfy0dc foreign key (mentor_id) references mentor (id);
+alter table review add constraint FKk0ccx5i4ci2wd70vegug074w1 foreign key (member_id) references member (id);
+alter table review add constraint FKgmcfwj3rqqoh0ukbxik0esovb foreign key (mentor_id) references mentor (id);
@@ -0,0 +1,16 @@
+-- Moi slot (mentor, ngay, gio) chi mot lich hen; dat lich dua vao unique key nay de chan dat trung.
+-- Truoc day co the dat trung: giu lich hen dat som nhat cua moi slot, xoa cac ban trung sau no
+delete from appointment
+where mentor_id is not null and appointment_date is not null and appointment_time is not null
+  and id not in (
+    select id from (
+        select min(id) as id from appointment
+        where mentor_id is not null and appointment_date is not null and appointment_time is not null
+        group by mentor_id, appointment_date, appointment_time
+    ) first_booking
+);
+
+alter table appointment add constraint uk_appointment_mentor_date_time unique (mentor_id, appointment_date, appointment_time);
+
+-- danh sach lich hen cua admin: phan trang keyset theo (ngay, gio, id)
+create index idx_appointment_date_time_id on appointment (appointment_date, appointment_time, id);
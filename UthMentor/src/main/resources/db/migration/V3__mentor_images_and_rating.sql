@@ -0,0 +1,19 @@
+-- Anh mentor upload o nen va co ban thu nho; diem danh gia luu san dang tong (so luot, tong diem)
+
+alter table mentor add column card_image_url varchar(255);
+alter table mentor add column thumbnail_url varchar(255);
+alter table mentor add column rating_count bigint default 0 not null;
+alter table mentor add column rating_sum bigint default 0 not null;
+
+-- tinh tong cho cac danh gia da co, giong MentorRatingReconciler; review khong co diem khong duoc dem
+update mentor set
+    rating_count = (select count(r.rating) from review r where r.mentor_id = mentor.id),
+    rating_sum = (select coalesce(sum(r.rating), 0) from review r where r.mentor_id = mentor.id);
+
+alter table mentor_request add column card_image_url varchar(255);
+alter table mentor_request add column thumbnail_url varchar(255);
+-- request cu da upload anh ngay trong request nen image_state de null
+alter table mentor_request add column image_state enum ('FAILED','PENDING','READY');
+alter table mentor_request add column staged_image_path varchar(255);
+alter table mentor_request add column image_content_type varchar(255);
+alter table mentor_request add column image_attempts int default 0 not null;
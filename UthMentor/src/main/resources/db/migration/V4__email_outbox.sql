@@ -0,0 +1,18 @@
+-- Email gui qua outbox: ghi cung transaction voi nghiep vu, worker gui va thu lai
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255),
+    subject varchar(255),
+    body varchar(4000),
+    status enum ('FAILED','PENDING','SENDING','SENT'),
+    attempts integer not null,
+    last_error varchar(1000),
+    next_attempt_at datetime(6),
+    claimed_at datetime(6),
+    sent_at datetime(6),
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
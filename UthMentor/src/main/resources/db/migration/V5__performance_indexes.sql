@@ -0,0 +1,16 @@
+-- Index cho cac truy van nong.
+-- Da co tu V1/V2: appointment theo (mentor, ngay, gio) dung uk_appointment_mentor_date_time (V2),
+-- member/mentor theo user dung unique (user_id), schedule theo mentor dung index cua khoa ngoai.
+-- Index ghep bat dau bang cot khoa ngoai thay duoc index rieng cua khoa ngoai do (MySQL tu bo index thua)
+
+-- review theo mentor (danh sach, tinh lai rating) va theo (member, mentor) (hasReview, kiem tra da danh gia)
+create index idx_review_mentor_member on review (mentor_id, member_id);
+
+-- lich hen cua member, sap xep theo ngay gio
+create index idx_appointment_member_date_time on appointment (member_id, appointment_date, appointment_time);
+
+-- kiem tra email trung khi dang ky
+create index idx_users_email on users (email);
+
+-- worker upload anh tim cac request con anh dang cho
+create index idx_mentor_request_image_state on mentor_request (image_state);
@@ -0,0 +1,107 @@
+package uth.edu.uthmentor.Config;
+
+import io.jsonwebtoken.Jwts;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.ServletException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import uth.edu.uthmentor.Model.Role;
+import uth.edu.uthmentor.Model.User;
+import uth.edu.uthmentor.Repository.UserRepository;
+import uth.edu.uthmentor.Service.ServiceImp.JwtService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+    private static final int DB_ITERATIONS = 1_000;
+
+    @Autowired
+    private JwtAuthenticationFilter filter;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${jwtSecretString}")
+    private String jwtSecretString;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void steadyStateRequestMakesNoDatabaseCall() throws Exception {
+        User user = userRepository.save(TestUsers.user("jwt-bench", Role.MEMBER));
+        String token = jwtService.generateToken(user);
+        // token cũ chỉ có subject, phải tra DB theo username mỗi request
+        String legacyToken = Jwts.builder()
+                .subject(user.getUsername())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(new SecretKeySpec(jwtSecretString.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .compact();
+
+        Authentication authentication = authenticate(token);
+        assertNotNull(authentication);
+        assertEquals(user.getId(), ((User) authentication.getPrincipal()).getId());
+        assertEquals("ROLE_MEMBER", authentication.getAuthorities().iterator().next().getAuthority());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        double cachedNanos = measure(token, ITERATIONS);
+        statistics.clear();
+        measure(token, ITERATIONS);
+        assertEquals(0, statistics.getPrepareStatementCount(), "SQL statements issued by cached path");
+
+        double legacyNanos = measure(legacyToken, DB_ITERATIONS);
+        statistics.clear();
+        authenticate(legacyToken);
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+        // đường có cache không chạm DB nên phải nhanh hơn đường nạp user theo username
+        assertTrue(cachedNanos < legacyNanos,
+                () -> String.format("cached %.1f us/request, DB %.1f us/request", cachedNanos / 1_000, legacyNanos / 1_000));
+    }
+
+    // chạy trước một phần tư số vòng để JIT làm nóng rồi mới đo
+    private double measure(String token, int iterations) throws ServletException, IOException {
+        for (int i = 0; i < iterations / 4; i++) {
+            authenticate(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            authenticate(token);
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    private Authentication authenticate(String token) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/appointment/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
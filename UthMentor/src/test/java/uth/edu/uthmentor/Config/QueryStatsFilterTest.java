@@ -0,0 +1,89 @@
+package uth.edu.uthmentor.Config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.FieldRepository;
+import uth.edu.uthmentor.Repository.MentorRepository;
+import uth.edu.uthmentor.Repository.ScheduleRepository;
+import uth.edu.uthmentor.Repository.UserRepository;
+import uth.edu.uthmentor.Service.ServiceImp.MentorDtoCache;
+import uth.edu.uthmentor.support.QueryBudget;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryStatsFilterTest {
+
+    private static final int PROFILE_STATEMENTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private MentorDtoCache mentorDtoCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void reportsStatementsInServerTimingHeader() throws Exception {
+        fieldRepository.save(Field.builder().name("Budget").description("query budget").build());
+        // lần đầu có thể phải dựng danh sách field từ DB, các lần sau phục vụ từ bộ nhớ
+        mockMvc.perform(get("/field/get-all"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.statementsAtMost(1));
+
+        mockMvc.perform(get("/field/get-all"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing",
+                        matchesPattern("db;dur=\\d+\\.\\d{3};desc=\"0 statements, 0 entities\"")))
+                .andExpect(QueryBudget.statementsAtMost(0));
+    }
+
+    @Test
+    void budgetPassesAtTheExactCountAndFailsOneBelow() throws Exception {
+        Mentor mentor = transactionTemplate.execute(status -> {
+            Field field = fieldRepository.save(Field.builder().name("Budget").description("query budget").build());
+            User user = userRepository.save(TestUsers.user("budget-mentor", Role.MENTOR));
+            Mentor saved = mentorRepository.save(Mentor.builder()
+                    .fullName("Budget Mentor").role(Role.MENTOR).field(field).user(user).fee(200000.0).build());
+            scheduleRepository.save(Schedule.builder().mentor(saved)
+                    .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(12, 0))
+                    .daysOfWeek(Set.of(DayOfWeek.MONDAY)).build());
+            return saved;
+        });
+        mentorDtoCache.evictAll();
+
+        // hồ sơ chưa có trong cache: mentor kèm field/user, schedule, daysOfWeek của schedule
+        MvcResult result = mockMvc.perform(get("/mentor/{id}", mentor.getId())).andExpect(status().isOk()).andReturn();
+        RequestQueryStats stats = (RequestQueryStats) result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE);
+
+        QueryBudget.statementsAtMost(PROFILE_STATEMENTS).match(result);
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> QueryBudget.statementsAtMost(PROFILE_STATEMENTS - 1).match(result));
+        assertTrue(error.getMessage().startsWith("GET /mentor/" + mentor.getId() + " issued " + PROFILE_STATEMENTS
+                + " SQL statements, budget is " + (PROFILE_STATEMENTS - 1) + " (" + stats.getEntityLoads() + " entities loaded)"));
+    }
+}
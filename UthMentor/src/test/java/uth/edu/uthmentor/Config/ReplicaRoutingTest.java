@@ -0,0 +1,128 @@
+package uth.edu.uthmentor.Config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Model.Field;
+import uth.edu.uthmentor.Model.Role;
+import uth.edu.uthmentor.Model.User;
+import uth.edu.uthmentor.Repository.FieldRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Hai DB H2 độc lập: dữ liệu ghi vào primary không bao giờ tới replica, nên đọc được gì cho biết đã route đi đâu
+@SpringBootTest(properties = "db.replica.read-your-writes-ms=300")
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica-" + UUID.randomUUID()
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_MENTOR_ID = 900;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // replica thật nhận schema và dữ liệu qua replication; ở đây tạo bằng chính các file migration
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String script : List.of("V1__baseline.sql", "V2__appointment_slot_key.sql", "V3__mentor_images_and_rating.sql",
+                    "V4__email_outbox.sql", "V5__performance_indexes.sql")) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/" + script));
+            }
+            statement.execute("INSERT INTO field (id, name, description) VALUES (900, 'Replica field', 'replica')");
+            statement.execute("INSERT INTO mentor (id, full_name, role, rating_count, rating_sum) " +
+                    "VALUES (" + REPLICA_MENTOR_ID + ", 'Replica Mentor', 'MENTOR', 0, 0)");
+        }
+        registry.add("db.replica.url", () -> REPLICA_URL);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        fieldRepository.save(Field.builder().name("Primary field").description("primary").build());
+
+        assertEquals(List.of("Replica field"), fieldNames(true));
+        assertTrue(fieldNames(false).contains("Primary field"));
+        assertFalse(fieldNames(false).contains("Replica field"));
+    }
+
+    @Test
+    void readOnlyServiceMethodsAreServedByTheReplica() throws Exception {
+        // mentor 900 chỉ có trên replica
+        mockMvc.perform(get("/review/get-all/{mentorId}", REPLICA_MENTOR_ID))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimaryUntilTheLagWindowPasses() throws Exception {
+        signIn(42L);
+        String name = "Written by 42 " + System.nanoTime();
+        write(name);
+
+        assertTrue(fieldNames(true).contains(name));
+
+        // user khác không bị ảnh hưởng
+        signIn(43L);
+        assertFalse(fieldNames(true).contains(name));
+
+        signIn(42L);
+        Thread.sleep(500);
+        assertFalse(fieldNames(true).contains(name));
+    }
+
+    @Test
+    void onPrimaryOverridesReadOnlyRouting() {
+        String name = "Forced " + System.nanoTime();
+        fieldRepository.save(Field.builder().name(name).description("primary").build());
+
+        assertFalse(fieldNames(true).contains(name));
+        assertTrue(ReplicaRouting.onPrimary(() -> fieldNames(true)).contains(name));
+    }
+
+    private List<String> fieldNames(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> fieldRepository.findAll().stream().map(Field::getName).toList());
+    }
+
+    private void write(String name) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                fieldRepository.save(Field.builder().name(name).description("primary").build()));
+    }
+
+    private static void signIn(Long userId) {
+        User user = User.builder().id(userId).username("user-" + userId).role(Role.MEMBER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,136 @@
+package uth.edu.uthmentor.Config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SchemaMigratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SchemaMigrator schemaMigrator;
+
+    @Test
+    void appliesEveryVersionOnceAndInOrder() throws Exception {
+        assertEquals(List.of(1, 2, 3, 4, 5), versions(jdbcTemplate));
+
+        // lần chạy sau không còn gì để áp dụng
+        schemaMigrator.migrate();
+        assertEquals(List.of(1, 2, 3, 4, 5), versions(jdbcTemplate));
+    }
+
+    @Test
+    void refusesToStartWhenAnAppliedMigrationWasEdited() {
+        int checksum = jdbcTemplate.queryForObject("SELECT checksum FROM schema_version WHERE version = 5", Integer.class);
+        jdbcTemplate.update("UPDATE schema_version SET checksum = ? WHERE version = 5", checksum + 1);
+        try {
+            IllegalStateException error = assertThrows(IllegalStateException.class, schemaMigrator::migrate);
+            assertTrue(error.getMessage().contains("V5__performance_indexes.sql was changed"));
+        } finally {
+            jdbcTemplate.update("UPDATE schema_version SET checksum = ? WHERE version = 5", checksum);
+        }
+    }
+
+    // DB do ddl-auto=update tạo trước khi có migration, dữ liệu còn lịch hẹn trùng slot:
+    // chỉ V1 được đánh dấu, V2 trở đi chạy thật và kết quả phải giống hệt DB tạo mới
+    @Test
+    void baselinedLegacyDatabaseIsUpgradedToTheCurrentSchema() throws Exception {
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Connection connection = legacy.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        legacyJdbc.update("INSERT INTO users (id, username, role) VALUES (1, 'legacy-mentor', 'MENTOR'), (2, 'legacy-member', 'MEMBER')");
+        legacyJdbc.update("INSERT INTO field (id, name) VALUES (1, 'Legacy')");
+        legacyJdbc.update("INSERT INTO mentor (id, user_id, field_id, full_name, role, image_url) VALUES (1, 1, 1, 'Legacy Mentor', 'MENTOR', 'https://images.test/legacy')");
+        legacyJdbc.update("INSERT INTO member (id, user_id, role) VALUES (1, 2, 'MEMBER')");
+        legacyJdbc.update("INSERT INTO review (member_id, mentor_id, rating) VALUES (1, 1, 5), (1, 1, 3)");
+        // trước đây đặt lịch không chặn trùng slot
+        legacyJdbc.update("INSERT INTO appointment (id, member_id, mentor_id, appointment_date, appointment_time, status) VALUES " +
+                "(10, 1, 1, DATE '2026-01-05', TIME '09:00:00', 'APPROVED'), " +
+                "(11, 1, 1, DATE '2026-01-05', TIME '09:00:00', 'PENDING'), " +
+                "(12, 1, 1, DATE '2026-01-05', TIME '09:30:00', 'PENDING')");
+
+        migrator(legacy).migrate();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), versions(legacyJdbc));
+        assertEquals(0, legacyJdbc.queryForObject("SELECT execution_ms FROM schema_version WHERE version = 1", Integer.class));
+        assertEquals(schema(jdbcTemplate), schema(legacyJdbc));
+        assertEquals(indexes(jdbcTemplate), indexes(legacyJdbc));
+
+        // lịch đặt sớm nhất của mỗi slot được giữ, unique key có hiệu lực
+        assertEquals(List.of(10L, 12L), legacyJdbc.queryForList("SELECT id FROM appointment ORDER BY id", Long.class));
+        assertThrows(DataIntegrityViolationException.class, () -> legacyJdbc.update(
+                "INSERT INTO appointment (member_id, mentor_id, appointment_date, appointment_time) VALUES (1, 1, DATE '2026-01-05', TIME '09:00:00')"));
+        // tổng đánh giá tính từ review đã có
+        assertEquals(List.of(2L, 8L), legacyJdbc.queryForList("SELECT rating_count FROM mentor UNION ALL SELECT rating_sum FROM mentor", Long.class));
+    }
+
+    @Test
+    void hotLookupsUseAnIndex() {
+        // đặt lịch: kiểm tra slot trùng theo (mentor, ngày, giờ)
+        assertIndexed("SELECT id FROM appointment WHERE mentor_id = 1 AND appointment_date = DATE '2026-01-05' " +
+                "AND appointment_time = TIME '09:00:00'", "uk_appointment_mentor_date_time");
+        assertIndexed("SELECT id FROM appointment WHERE member_id = 1 ORDER BY appointment_date, appointment_time",
+                "idx_appointment_member_date_time");
+        // H2 có thể chọn index của khoá ngoại mentor_id, tương đương
+        assertIndexed("SELECT id, rating FROM review WHERE mentor_id = 1", null);
+        assertIndexed("SELECT 1 FROM review WHERE member_id = 1 AND mentor_id = 1", "idx_review_mentor_member");
+        assertIndexed("SELECT id FROM users WHERE email = 'a@uthmentor.local'", "idx_users_email");
+        assertIndexed("SELECT id FROM mentor_request WHERE image_state = 'PENDING'", "idx_mentor_request_image_state");
+        // index sẵn có từ V1: khoá ngoại schedule.mentor_id, unique member.user_id
+        assertIndexed("SELECT id FROM schedule WHERE mentor_id = 1", null);
+        assertIndexed("SELECT id FROM member WHERE user_id = 1", null);
+    }
+
+    private static SchemaMigrator migrator(DataSource dataSource) {
+        SchemaMigrator migrator = new SchemaMigrator(dataSource);
+        ReflectionTestUtils.setField(migrator, "enabled", true);
+        ReflectionTestUtils.setField(migrator, "locations", "classpath:db/migration/V*__*.sql");
+        ReflectionTestUtils.setField(migrator, "baselineOnMigrate", true);
+        return migrator;
+    }
+
+    private static List<Integer> versions(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT version FROM schema_version ORDER BY version", Integer.class);
+    }
+
+    private static List<String> schema(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable || ' ' || " +
+                "COALESCE(column_default, '') FROM information_schema.columns WHERE table_schema = SCHEMA() " +
+                "ORDER BY table_name, column_name", String.class);
+    }
+
+    // H2 thêm hậu tố riêng từng DB vào tên index của khóa chính/ngoại, bỏ đi trước khi so
+    private static List<String> indexes(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT table_name || '.' || LOWER(index_name) FROM information_schema.indexes " +
+                        "WHERE table_schema = SCHEMA() AND LOWER(index_name) NOT LIKE 'primary_key%'", String.class).stream()
+                .map(index -> index.replaceAll("_index_\\w+$", ""))
+                .sorted()
+                .toList();
+    }
+
+    private void assertIndexed(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+        assertFalse(plan.contains("tablescan"), () -> "table scan for " + sql + ":\n" + plan);
+        if (index != null) {
+            assertTrue(plan.contains(index), () -> "expected " + index + " for " + sql + ":\n" + plan);
+        }
+    }
+}
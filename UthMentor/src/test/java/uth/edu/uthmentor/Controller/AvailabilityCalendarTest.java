@@ -0,0 +1,135 @@
+package uth.edu.uthmentor.Controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Dto.DayAvailabilityDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.AppointmentService;
+import uth.edu.uthmentor.support.QueryBudget;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AvailabilityCalendarTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // thứ Hai của tuần sau, lịch làm việc thứ Hai và thứ Tư 08:00-10:00
+    private final LocalDate monday = LocalDate.now().plusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    private Mentor mentor;
+    private Mentor mentorWithoutSchedule;
+
+    @BeforeEach
+    void setUp() {
+        // schedule cascade sang mentor: mentor phải còn managed khi lưu schedule
+        transactionTemplate.executeWithoutResult(status -> {
+            Field field = fieldRepository.save(Field.builder().name("Calendar").description("calendar").build());
+            mentor = mentor(field);
+            mentorWithoutSchedule = mentor(field);
+            scheduleRepository.save(Schedule.builder().mentor(mentor)
+                    .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(10, 0))
+                    .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY)).build());
+
+            User memberUser = userRepository.save(TestUsers.user("calendar-member", Role.MEMBER));
+            Member member = memberRepository.save(Member.builder().firstName("Calendar").lastName("Member")
+                    .email(memberUser.getEmail()).role(Role.MEMBER).user(memberUser).build());
+            appointmentRepository.save(Appointment.builder().mentor(mentor).member(member)
+                    .appointmentDate(monday).appointmentTime(LocalTime.of(8, 30)).status(Status.PENDING).build());
+        });
+    }
+
+    @Test
+    void streamsEveryDayFromOneScheduleReadAndOneBookingQuery() throws Exception {
+        MvcResult started = mockMvc.perform(get("/appointment/available-calendar")
+                        .param("mentorId", mentor.getId().toString())
+                        .param("from", monday.toString())
+                        .param("to", monday.plusDays(6).toString()))
+                .andExpect(request().asyncStarted())
+                // mentor, schedule kèm daysOfWeek, lịch hẹn cả khoảng ngày
+                .andExpect(QueryBudget.statementsAtMost(3))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(7)))
+                .andExpect(jsonPath("$[0].date").value(monday.toString()))
+                .andExpect(jsonPath("$[0].slots", contains("08:00:00", "09:00:00")))
+                .andExpect(jsonPath("$[1].slots", hasSize(0)))
+                .andExpect(jsonPath("$[2].slots", contains("08:00:00", "08:30:00", "09:00:00")))
+                .andExpect(jsonPath("$[6].date").value(monday.plusDays(6).toString()));
+    }
+
+    @Test
+    void mentorWithoutScheduleGetsEmptyDays() {
+        List<DayAvailabilityDto> days = calendar(mentorWithoutSchedule, monday, monday.plusDays(2));
+
+        assertEquals(List.of(monday, monday.plusDays(1), monday.plusDays(2)),
+                days.stream().map(DayAvailabilityDto::getDate).toList());
+        assertTrue(days.stream().allMatch(day -> day.getSlots().isEmpty()));
+    }
+
+    @Test
+    void rangeIsCappedAtSixtyTwoDays() {
+        assertEquals(62, calendar(mentor, monday, monday.plusDays(61)).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAvailabilityCalendar(mentor.getId(), monday, monday.plusDays(62)));
+    }
+
+    @Test
+    void fromAfterToIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> appointmentService.getAvailabilityCalendar(mentor.getId(), monday, monday.minusDays(1)));
+        assertEquals(1, calendar(mentor, monday, monday).size());
+    }
+
+    private List<DayAvailabilityDto> calendar(Mentor target, LocalDate from, LocalDate to) {
+        try (Stream<DayAvailabilityDto> days = appointmentService.getAvailabilityCalendar(target.getId(), from, to)) {
+            return days.toList();
+        }
+    }
+
+    private Mentor mentor(Field field) {
+        User user = userRepository.save(TestUsers.user("calendar-mentor", Role.MENTOR));
+        return mentorRepository.save(Mentor.builder()
+                .fullName("Calendar Mentor").role(Role.MENTOR).field(field).user(user).fee(200000.0).build());
+    }
+}
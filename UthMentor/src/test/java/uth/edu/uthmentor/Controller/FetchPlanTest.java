@@ -0,0 +1,96 @@
+package uth.edu.uthmentor.Controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.ServiceImp.MentorDtoCache;
+import uth.edu.uthmentor.support.QueryBudget;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FetchPlanTest {
+
+    private static final int REVIEWS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private MentorDtoCache mentorDtoCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Mentor mentor;
+
+    @BeforeEach
+    void setUp() {
+        // schedule cascade sang mentor: mentor phải còn managed khi lưu schedule
+        transactionTemplate.executeWithoutResult(status -> createMentorWithReviews());
+        mentorDtoCache.evictAll();
+    }
+
+    private void createMentorWithReviews() {
+        Field field = fieldRepository.save(Field.builder().name("Fetch").description("fetch plan").build());
+        User mentorUser = userRepository.save(TestUsers.builder("fetch-mentor", Role.MENTOR).firstName("Fetch").build());
+        mentor = mentorRepository.save(Mentor.builder()
+                .fullName("Fetch Mentor").role(Role.MENTOR).field(field).user(mentorUser).fee(200000.0).build());
+        scheduleRepository.save(Schedule.builder().mentor(mentor)
+                .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(12, 0))
+                .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY)).build());
+        for (int i = 0; i < REVIEWS; i++) {
+            User memberUser = userRepository.save(TestUsers.user("fetch-member-" + i, Role.MEMBER));
+            Member member = memberRepository.save(Member.builder()
+                    .firstName("Member").lastName(String.valueOf(i)).email(memberUser.getEmail())
+                    .role(Role.MEMBER).user(memberUser).build());
+            reviewRepository.save(Review.builder().mentor(mentor).member(member).rating(5).comment("ok").build());
+        }
+    }
+
+    @Test
+    void mentorProfileLoadsFieldAndUserWithTheMentor() throws Exception {
+        // mentor + field + user trong một join, User.member (phía mappedBy), schedule kèm daysOfWeek
+        mockMvc.perform(get("/mentor/{id}", mentor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.field.name").value("Fetch"))
+                .andExpect(jsonPath("$.firstName").value("Fetch"))
+                .andExpect(jsonPath("$.daysOfWeek", hasSize(2)))
+                .andExpect(QueryBudget.statementsAtMost(3));
+    }
+
+    @Test
+    void reviewListDoesNotLoadMemberAccounts() throws Exception {
+        // tên member nằm trên bảng member: không cần đọc users của từng người viết review
+        mockMvc.perform(get("/review/get-all/{mentorId}", mentor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(REVIEWS)))
+                .andExpect(jsonPath("$[0].memberName").value("Member 0"))
+                .andExpect(QueryBudget.statementsAtMost(2))
+                .andExpect(QueryBudget.entityLoadsAtMost(REVIEWS * 2));
+    }
+}
@@ -0,0 +1,58 @@
+package uth.edu.uthmentor.Controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uth.edu.uthmentor.Service.FieldService;
+import uth.edu.uthmentor.support.QueryBudget;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FieldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private FieldService fieldService;
+
+    @Test
+    void repeatRequestsAreAnsweredWithNotModifiedAndNoQuery() throws Exception {
+        fieldService.createField("Catalogue", "etag test");
+
+        MvcResult first = mockMvc.perform(get("/field/get-all"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$[*].name", hasItem("Catalogue")))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+
+        mockMvc.perform(get("/field/get-all").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().bytes(new byte[0]))
+                .andExpect(QueryBudget.statementsAtMost(0));
+    }
+
+    @Test
+    void creatingAFieldChangesTheCatalogueAndItsEtag() throws Exception {
+        String before = mockMvc.perform(get("/field/get-all")).andReturn().getResponse().getHeader("ETag");
+
+        fieldService.createField("Catalogue " + System.nanoTime(), "new field");
+
+        MvcResult after = mockMvc.perform(get("/field/get-all").header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].description", hasItem("new field")))
+                .andReturn();
+        assertNotEquals(before, after.getResponse().getHeader("ETag"));
+    }
+}
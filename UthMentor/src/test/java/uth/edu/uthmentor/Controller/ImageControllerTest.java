@@ -0,0 +1,123 @@
+package uth.edu.uthmentor.Controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uth.edu.uthmentor.Service.ImageStorage;
+import uth.edu.uthmentor.Service.ServiceImp.LocalImageStorage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"image.storage=local", "image.local.dir=target/test-images"})
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Value("${image.local.dir}")
+    private Path root;
+
+    @Test
+    void sameContentIsStoredOnce() throws Exception {
+        assertInstanceOf(LocalImageStorage.class, imageStorage);
+        byte[] image = randomBytes(4096);
+
+        String first = imageStorage.store(write(image), "image/png");
+        String second = imageStorage.store(write(image), "image/png");
+
+        assertEquals(first, second);
+        assertTrue(first.matches("/image/[0-9a-f]{64}\\.png"));
+        String key = first.substring("/image/".length());
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(path -> path.getFileName().toString().equals(key)).count());
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(0, files.filter(path -> path.getFileName().toString().endsWith(".tmp")).count());
+        }
+    }
+
+    @Test
+    void servesWithEtagAndLongCacheHeaders() throws Exception {
+        byte[] image = randomBytes(100_000);
+        String url = imageStorage.store(write(image), "image/jpeg");
+        String hash = url.substring("/image/".length(), url.lastIndexOf('.'));
+
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + hash + "\""))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().contentType("image/jpeg"))
+                .andReturn();
+        assertArrayEquals(image, result.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get(url).header("If-None-Match", "\"" + hash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        byte[] image = randomBytes(1000);
+        String url = imageStorage.store(write(image), "image/png");
+        String etag = "\"" + url.substring("/image/".length(), url.lastIndexOf('.')) + "\"";
+
+        mockMvc.perform(get(url).header("Range", "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 10-19/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 10, 20)));
+
+        mockMvc.perform(get(url).header("Range", "bytes=-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 900-999/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 900, 1000)));
+
+        mockMvc.perform(get(url).header("Range", "bytes=990-").header("If-Range", etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 990, 1000)));
+
+        // If-Range không khớp: trả cả file
+        mockMvc.perform(get(url).header("Range", "bytes=990-").header("If-Range", "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(image));
+
+        mockMvc.perform(get(url).header("Range", "bytes=5000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */1000"));
+    }
+
+    @Test
+    void unknownOrMalformedKeysAreNotFound() throws Exception {
+        mockMvc.perform(get("/image/" + "0".repeat(64) + ".png")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/image/..%2F..%2Fpom.xml")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/image/not-a-hash.png")).andExpect(status().isNotFound());
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    private static Path write(byte[] bytes) throws Exception {
+        Path file = Files.createTempFile("image-test-", ".upload");
+        Files.write(file, bytes);
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,152 @@
+package uth.edu.uthmentor.Controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Dto.MentorDecisionDto;
+import uth.edu.uthmentor.Dto.MentorRequestDto;
+import uth.edu.uthmentor.Dto.ReviewDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.MentorService;
+import uth.edu.uthmentor.Service.ReviewService;
+import uth.edu.uthmentor.Service.ServiceImp.MentorDtoCache;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Mỗi test đổi tên mentor thẳng trong DB (không qua service, không evict): còn thấy tên cũ nghĩa là
+// response đến từ cache, thấy tên mới nghĩa là entry đã bị xóa và nạp lại
+@SpringBootTest
+@AutoConfigureMockMvc
+class MentorDtoCacheEvictionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MentorService mentorService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private MentorDtoCache mentorDtoCache;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private MentorRequestRepository mentorRequestRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Field field;
+    private Mentor mentor;
+
+    @BeforeEach
+    void setUp() {
+        // schedule cascade sang mentor: mentor phải còn managed khi lưu schedule
+        transactionTemplate.executeWithoutResult(status -> {
+            field = fieldRepository.save(Field.builder().name("Cache").description("cache eviction").build());
+            User user = userRepository.save(TestUsers.user("cache-mentor", Role.MENTOR));
+            mentor = mentorRepository.save(Mentor.builder()
+                    .fullName("Cached Mentor").role(Role.MENTOR).field(field).user(user).fee(200000.0).build());
+            scheduleRepository.save(Schedule.builder().mentor(mentor)
+                    .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(12, 0))
+                    .daysOfWeek(Set.of(DayOfWeek.MONDAY)).build());
+        });
+        mentorDtoCache.evictAll();
+    }
+
+    @Test
+    void updateMentorRefreshesTheCachedProfile() throws Exception {
+        profile().andExpect(jsonPath("$.fullName").value("Cached Mentor"));
+        rename("Renamed in DB");
+        profile().andExpect(jsonPath("$.fullName").value("Cached Mentor"));
+
+        mentorService.updateMentor(mentor.getId(), MentorRequestDto.builder()
+                .fieldId(field.getId()).startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(11, 0)).build());
+
+        profile().andExpect(jsonPath("$.fullName").value("Renamed in DB"))
+                .andExpect(jsonPath("$.startTime").value("09:00:00"));
+    }
+
+    @Test
+    void newReviewRefreshesTheCachedProfile() throws Exception {
+        profile().andExpect(jsonPath("$.rating").value(0.0));
+        rename("Renamed in DB");
+
+        reviewService.evaluateMen(reviewer(), new ReviewDto("good", 5, mentor.getId(), null, null));
+
+        profile().andExpect(jsonPath("$.fullName").value("Renamed in DB"))
+                .andExpect(jsonPath("$.rating").value(5.0));
+    }
+
+    @Test
+    void approvedRequestRefreshesTheCachedMentorList() throws Exception {
+        User applicant = userRepository.save(TestUsers.user("cache-applicant", Role.USER));
+        MentorRequest request = mentorRequestRepository.save(MentorRequest.builder()
+                .user(applicant).field(field).fee(150000.0).description("applicant")
+                .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(10, 0))
+                .daysOfWeek(Set.of(DayOfWeek.TUESDAY)).status(Status.PENDING).build());
+        String applicantName = applicant.getFirstName() + " " + applicant.getLastName();
+        mockMvc.perform(get("/mentor/get-all"))
+                .andExpect(jsonPath("$[*].fullName", not(hasItem(applicantName))));
+
+        mentorService.decideMentorRequest(new MentorDecisionDto(request.getId(), "APPROVED"));
+
+        mockMvc.perform(get("/mentor/get-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].fullName", hasItem(applicantName)));
+    }
+
+    @Test
+    void rolledBackWriteKeepsTheCachedEntry() throws Exception {
+        profile().andExpect(jsonPath("$.fullName").value("Cached Mentor"));
+        User reviewer = reviewer();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            reviewService.evaluateMen(reviewer, new ReviewDto("good", 5, mentor.getId(), null, null));
+            status.setRollbackOnly();
+        });
+        rename("Renamed in DB");
+
+        // evict chỉ đăng ký chạy sau commit: rollback thì entry vẫn còn
+        profile().andExpect(jsonPath("$.fullName").value("Cached Mentor"))
+                .andExpect(jsonPath("$.rating").value(0.0));
+    }
+
+    private ResultActions profile() throws Exception {
+        return mockMvc.perform(get("/mentor/{id}", mentor.getId())).andExpect(status().isOk());
+    }
+
+    private void rename(String fullName) {
+        jdbcTemplate.update("UPDATE mentor SET full_name = ? WHERE id = ?", fullName, mentor.getId());
+    }
+
+    private User reviewer() {
+        User user = userRepository.save(TestUsers.user("cache-reviewer", Role.MEMBER));
+        memberRepository.save(Member.builder().firstName("Cache").lastName("Reviewer").email(user.getEmail())
+                .role(Role.MEMBER).user(user).build());
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+}
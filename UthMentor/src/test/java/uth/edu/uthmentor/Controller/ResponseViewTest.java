@@ -0,0 +1,98 @@
+package uth.edu.uthmentor.Controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.FieldRepository;
+import uth.edu.uthmentor.Repository.MentorRepository;
+import uth.edu.uthmentor.Repository.UserRepository;
+import uth.edu.uthmentor.Service.ServiceImp.MentorDtoCache;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseViewTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private MentorDtoCache mentorDtoCache;
+
+    @Test
+    void registerAndLoginReturnASlimUser() throws Exception {
+        String username = "view-" + System.nanoTime();
+        String body = "{\"username\":\"" + username + "\",\"password\":\"secret123\",\"firstName\":\"View\"," +
+                "\"lastName\":\"Test\",\"email\":\"" + username + "@uthmentor.local\"}";
+
+        mockMvc.perform(post("/user/register").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.username").value(username))
+                .andExpect(jsonPath("$.password").doesNotExist());
+
+        mockMvc.perform(post("/user/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.user.username").value(username))
+                .andExpect(jsonPath("$.user.firstName").value("View"))
+                .andExpect(jsonPath("$.user.role").value("USER"))
+                .andExpect(jsonPath("$.user.password").doesNotExist())
+                .andExpect(jsonPath("$.user.authorities").doesNotExist())
+                .andExpect(jsonPath("$.user.createdAt").doesNotExist());
+    }
+
+    @Test
+    void mentorListsSupportSparseFieldsets() throws Exception {
+        Field field = fieldRepository.save(Field.builder().name("Views").description("sparse fields").build());
+        User user = userRepository.save(TestUsers.user("view-mentor", Role.MENTOR));
+        Mentor mentor = mentorRepository.save(Mentor.builder()
+                .fullName("View Mentor").role(Role.MENTOR).field(field).user(user).fee(200000.0).build());
+        mentorDtoCache.evictAll();
+
+        JsonNode full = find(get("/mentor/get-all"), mentor.getId());
+        assertEquals("Views", full.get("field").get("name").asText());
+        assertFalse(full.has("fieldName"));
+        assertTrue(full.has("description"));
+
+        JsonNode sparse = find(get("/mentor/get-all").param("fields", "id, fullName,field"), mentor.getId());
+        List<String> names = new ArrayList<>();
+        sparse.fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("id", "fullName", "field"), names);
+        // object lồng không bị lọc
+        assertEquals("sparse fields", sparse.get("field").get("description").asText());
+    }
+
+    private JsonNode find(RequestBuilder request, Long mentorId) throws Exception {
+        String json = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        for (JsonNode node : objectMapper.readTree(json)) {
+            if (node.get("id").asLong() == mentorId) {
+                return node;
+            }
+        }
+        fail("mentor " + mentorId + " not in response");
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Dto.AppointmentDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.AppointmentService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Chạy lâu, không nằm trong mvn test mặc định: mvn test -Pstress
+@Tag("stress")
+@SpringBootTest
+class AppointmentBookingStressTest {
+
+    private static final int CLIENTS = 64;
+    private static final int MENTORS = 8;
+    private static final int DAYS = 4;
+    private static final int ATTEMPTS_PER_CLIENT = 40;
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentClientsNeverDoubleBook() throws Exception {
+        Field field = fieldRepository.save(Field.builder().name("Stress").description("stress test").build());
+        List<Long> mentorIds = new ArrayList<>();
+        // Schedule cascade sang Mentor nên phải lưu cả hai trong cùng một persistence context
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < MENTORS; i++) {
+                User mentorUser = userRepository.save(TestUsers.user("stress-mentor-" + i, Role.MENTOR));
+                Mentor mentor = mentorRepository.save(Mentor.builder()
+                        .fullName("Mentor " + i).role(Role.MENTOR).field(field).user(mentorUser).fee(200000.0).build());
+                scheduleRepository.save(Schedule.builder()
+                        .mentor(mentor)
+                        .startTime(LocalTime.of(8, 0))
+                        .endTime(LocalTime.of(16, 0))
+                        .daysOfWeek(EnumSet.allOf(DayOfWeek.class))
+                        .build());
+                mentorIds.add(mentor.getId());
+            }
+        });
+
+        List<User> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            User memberUser = userRepository.save(TestUsers.user("stress-member-" + i, Role.MEMBER));
+            memberRepository.save(Member.builder()
+                    .firstName("Member").lastName(String.valueOf(i)).email("member" + i + "@uthmentor.local")
+                    .username(memberUser.getUsername()).role(Role.MEMBER).user(memberUser).build());
+            clients.add(memberUser);
+        }
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<LocalTime> slots = new ArrayList<>();
+        for (LocalTime t = LocalTime.of(8, 0); t.isBefore(LocalTime.of(15, 30)); t = t.plusMinutes(30)) {
+            slots.add(t);
+        }
+        int slotSpace = MENTORS * DAYS * slots.size();
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int c = 0; c < CLIENTS; c++) {
+            User client = clients.get(c);
+            long seed = c;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_CLIENT; i++) {
+                    AppointmentDto request = new AppointmentDto();
+                    request.setMentorId(mentorIds.get(random.nextInt(MENTORS)));
+                    request.setAppointmentDate(firstDay.plusDays(random.nextInt(DAYS)));
+                    request.setAppointmentTime(slots.get(random.nextInt(slots.size())));
+                    request.setPaymentMethod(PaymentMethod.CASH);
+                    try {
+                        appointmentService.bookAppointment(request, client);
+                        booked.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if ("This slot has been booked".equals(e.getMessage())) {
+                            rejected.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        List<Appointment> saved = appointmentRepository.findAll();
+        Map<String, Long> perSlot = saved.stream()
+                .collect(Collectors.groupingBy(a -> a.getMentor().getId() + "|" + a.getAppointmentDate() + "|" + a.getAppointmentTime(),
+                        Collectors.counting()));
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(CLIENTS * ATTEMPTS_PER_CLIENT, booked.get() + rejected.get());
+        // số lần thử gấp nhiều lần số slot: phải có cả đặt được lẫn bị từ chối
+        assertTrue(booked.get() > 0 && rejected.get() > 0, () -> booked + " booked, " + rejected + " rejected");
+        assertEquals(booked.get(), saved.size());
+        assertTrue(perSlot.values().stream().allMatch(count -> count == 1), "A slot was booked more than once");
+        assertTrue(saved.size() <= slotSpace);
+    }
+}
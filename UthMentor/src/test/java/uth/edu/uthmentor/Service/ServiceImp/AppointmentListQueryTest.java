@@ -0,0 +1,170 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Dto.AppointmentDto;
+import uth.edu.uthmentor.Dto.AppointmentFilter;
+import uth.edu.uthmentor.Dto.AppointmentPageDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.AppointmentService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AppointmentListQueryTest {
+
+    private static final int APPOINTMENTS = 30;
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User mentorUser;
+    private User reviewerUser;
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Field field = fieldRepository.save(Field.builder().name("Java").description("list test").build());
+            mentorUser = userRepository.save(TestUsers.user("list-mentor", Role.MENTOR));
+            Mentor mentor = mentorRepository.save(Mentor.builder()
+                    .fullName("List Mentor").role(Role.MENTOR).field(field).user(mentorUser).fee(200000.0).build());
+
+            Member reviewer = member(reviewerUser = userRepository.save(TestUsers.user("list-reviewer", Role.MEMBER)));
+            Member other = member(userRepository.save(TestUsers.user("list-other", Role.MEMBER)));
+            reviewRepository.save(Review.builder().rating(5).comment("good").member(reviewer).mentor(mentor).build());
+
+            LocalDate day = LocalDate.now().plusDays(1);
+            for (int i = 0; i < APPOINTMENTS; i++) {
+                appointmentRepository.save(Appointment.builder()
+                        .appointmentDate(day.plusDays(i / 10))
+                        .appointmentTime(LocalTime.of(8, 0).plusMinutes(30L * (i % 10)))
+                        .mentor(mentor)
+                        .member(i % 2 == 0 ? reviewer : other)
+                        .status(Status.PENDING)
+                        .paymentMethod(PaymentMethod.CASH)
+                        .build());
+            }
+        });
+    }
+
+    @Test
+    void mentorListIsOneStatement() {
+        List<AppointmentDto> list = countingStatements(1, () -> appointmentService.getAllByMen(mentorUser));
+
+        assertEquals(APPOINTMENTS, list.size());
+        assertEquals(APPOINTMENTS / 2, list.stream().filter(AppointmentDto::getHasReview).count());
+        AppointmentDto first = list.get(0);
+        assertEquals("Java", first.getFieldName());
+        assertEquals(mentorUser.getFirstName() + " " + mentorUser.getLastName(), first.getMentorName());
+    }
+
+    @Test
+    void memberListIsOneStatement() {
+        List<AppointmentDto> list = countingStatements(1, () -> appointmentService.getAppointmentsByUser(reviewerUser));
+
+        assertEquals(APPOINTMENTS / 2, list.size());
+        assertTrue(list.stream().allMatch(AppointmentDto::getHasReview));
+    }
+
+    @Test
+    void callersWithoutAProfileAreRejectedAndEmptyProfilesGetEmptyLists() {
+        User noMentor = userRepository.save(TestUsers.user("list-no-mentor", Role.MENTOR));
+        User noMember = userRepository.save(TestUsers.user("list-no-member", Role.MEMBER));
+        assertEquals("Mentor not found",
+                assertThrows(IllegalArgumentException.class, () -> appointmentService.getAllByMen(noMentor)).getMessage());
+        assertEquals("Member not found",
+                assertThrows(RuntimeException.class, () -> appointmentService.getAppointmentsByUser(noMember)).getMessage());
+
+        // có hồ sơ nhưng chưa có lịch hẹn: danh sách rỗng
+        User idleMember = userRepository.save(TestUsers.user("list-idle", Role.MEMBER));
+        member(idleMember);
+        assertTrue(appointmentService.getAppointmentsByUser(idleMember).isEmpty());
+    }
+
+    @Test
+    void adminPageIsOneStatement() {
+        AppointmentPageDto page = countingStatements(1,
+                () -> appointmentService.getAppointmentPage(new AppointmentFilter(null, null, null, null), null, 20));
+
+        assertEquals(20, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void keysetPagesWalkTheMentorListInOrder() {
+        List<Long> expected = appointmentService.getAllByMen(mentorUser).stream().map(AppointmentDto::getId).toList();
+        AppointmentFilter filter = new AppointmentFilter(null, mentorId(), null, null);
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            AppointmentPageDto page = countingStatements(1, () -> appointmentService.getAppointmentPage(filter, current, 7));
+            page.getItems().forEach(item -> walked.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void streamingMatchesTheMentorList() {
+        List<Long> expected = appointmentService.getAllByMen(mentorUser).stream().map(AppointmentDto::getId).toList();
+
+        List<Long> streamed = new ArrayList<>();
+        appointmentService.streamAppointments(new AppointmentFilter(null, mentorId(), null, null), dto -> streamed.add(dto.getId()));
+
+        assertEquals(expected, streamed);
+    }
+
+    private Long mentorId() {
+        return mentorRepository.findByUser(mentorUser).orElseThrow().getId();
+    }
+
+    private <T> T countingStatements(long expected, Supplier<T> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = call.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements issued");
+        return result;
+    }
+
+    private Member member(User user) {
+        return memberRepository.save(Member.builder()
+                .firstName(user.getFirstName()).lastName(user.getLastName()).email(user.getEmail())
+                .username(user.getUsername()).role(Role.MEMBER).user(user).build());
+    }
+}
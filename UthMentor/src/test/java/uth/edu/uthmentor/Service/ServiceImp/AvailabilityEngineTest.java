@@ -0,0 +1,98 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.Test;
+import uth.edu.uthmentor.Model.Schedule;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityEngineTest {
+
+    private final AvailabilityEngine engine = new AvailabilityEngine();
+
+    @Test
+    void slotsStartBeforeEndMinusOneSlot() {
+        assertEquals(times("08:00", "08:30", "09:00", "09:30", "10:00", "10:30", "11:00"),
+                engine.freeSlots(schedule("08:00", "12:00"), Set.of()));
+    }
+
+    @Test
+    void midnightEndRunsToTheEndOfTheDay() {
+        assertEquals(times("21:00", "21:30", "22:00", "22:30", "23:00"),
+                engine.freeSlots(schedule("21:00", "00:00"), Set.of()));
+        assertEquals(47, engine.slotCount(schedule("00:00", "00:00")));
+    }
+
+    @Test
+    void windowShorterThanOneSlotHasNoSlots() {
+        assertEquals(List.of(), engine.freeSlots(schedule("08:00", "08:20"), Set.of()));
+        assertEquals(List.of(), engine.freeSlots(schedule("08:00", "08:30"), Set.of()));
+        assertEquals(times("08:00"), engine.freeSlots(schedule("08:00", "09:00"), Set.of()));
+        assertEquals(List.of(), engine.freeSlots(schedule("10:00", "09:00"), Set.of()));
+    }
+
+    @Test
+    void slotsFollowAnOffGridStartTime() {
+        assertEquals(times("08:15", "08:45", "09:15"), engine.freeSlots(schedule("08:15", "10:00"), Set.of()));
+    }
+
+    @Test
+    void onlyBookingsOnASlotRemoveIt() {
+        Schedule schedule = schedule("08:00", "10:00");
+        // lệch lưới 30 phút hoặc nằm ngoài khung giờ: không trùng slot nào
+        Set<LocalTime> booked = Set.of(time("08:30"), time("08:10"), time("07:30"), time("09:30"), time("11:00"));
+
+        assertEquals(times("08:00", "09:00"), engine.freeSlots(schedule, booked));
+    }
+
+    // So với vòng lặp cũ của getAvailableSlots trên mọi cặp giờ bắt đầu/kết thúc theo bước 10 phút
+    @Test
+    void matchesTheLegacyLoopForEveryWindow() {
+        Set<LocalTime> booked = Set.of(time("09:00"), time("12:30"), time("12:40"), time("23:00"));
+        for (int start = 0; start < 24 * 60; start += 10) {
+            for (int end = 0; end < 24 * 60; end += 10) {
+                Schedule schedule = schedule(LocalTime.MIN.plusMinutes(start), LocalTime.MIN.plusMinutes(end));
+                assertEquals(legacySlots(schedule, booked), engine.freeSlots(schedule, booked),
+                        () -> schedule.getStartTime() + "-" + schedule.getEndTime());
+            }
+        }
+    }
+
+    // Quy tắc cũ; dừng khi giờ quay vòng qua nửa đêm (vòng lặp cũ bị lặp vô hạn ở đó)
+    private static List<LocalTime> legacySlots(Schedule schedule, Set<LocalTime> booked) {
+        List<LocalTime> slots = new ArrayList<>();
+        LocalTime startTime = schedule.getStartTime();
+        while (startTime.isBefore(schedule.getEndTime().minusMinutes(30))) {
+            if (!booked.contains(startTime)) {
+                slots.add(startTime);
+            }
+            LocalTime next = startTime.plusMinutes(30);
+            if (next.isBefore(startTime)) {
+                break;
+            }
+            startTime = next;
+        }
+        return slots;
+    }
+
+    private static Schedule schedule(String start, String end) {
+        return schedule(time(start), time(end));
+    }
+
+    private static Schedule schedule(LocalTime start, LocalTime end) {
+        return Schedule.builder().startTime(start).endTime(end).build();
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+
+    private static List<LocalTime> times(String... values) {
+        return Arrays.stream(values).map(LocalTime::parse).toList();
+    }
+}
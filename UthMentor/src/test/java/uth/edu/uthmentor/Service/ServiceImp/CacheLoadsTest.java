@@ -0,0 +1,87 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLoadsTest {
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AsyncCache<Long, String> cache = Caffeine.newBuilder().maximumSize(10).buildAsync();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> CacheLoads.get(cache, 1L, key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "mentor-" + key;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> CacheLoads.get(cache, 1L, key -> {
+            loads.incrementAndGet();
+            return "duplicate";
+        }));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+
+        release.countDown();
+        assertEquals("mentor-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("mentor-1", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals("mentor-1", cache.synchronous().getIfPresent(1L));
+    }
+
+    @Test
+    void invalidateDuringLoadIsNotBlockedAndDropsTheValue() throws Exception {
+        AsyncCache<Long, String> cache = Caffeine.newBuilder().maximumSize(10).buildAsync();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> CacheLoads.get(cache, 1L, key -> {
+            loading.countDown();
+            await(release);
+            return "old";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        // Cache.get(key, loader) giữ lock trong lúc nạp nên invalidate cùng key sẽ bị chặn tới khi nạp xong
+        CompletableFuture.runAsync(() -> cache.synchronous().invalidate(1L)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertEquals("old", stale.get(5, TimeUnit.SECONDS));
+        assertNull(cache.synchronous().getIfPresent(1L));
+        assertEquals("new", CacheLoads.get(cache, 1L, key -> "new"));
+    }
+
+    @Test
+    void failedLoadIsRethrownAndNotCached() {
+        AsyncCache<Long, String> cache = Caffeine.newBuilder().maximumSize(10).buildAsync();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> CacheLoads.get(cache, 1L, key -> {
+                    throw new IllegalArgumentException("Mentor not found");
+                }));
+
+        assertEquals("Mentor not found", error.getMessage());
+        assertNull(cache.getIfPresent(1L));
+        assertEquals("found", CacheLoads.get(cache, 1L, key -> "found"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import uth.edu.uthmentor.Model.EmailOutbox;
+import uth.edu.uthmentor.Model.OutboxStatus;
+import uth.edu.uthmentor.Repository.EmailOutboxRepository;
+import uth.edu.uthmentor.support.LocalSmtpServer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EmailOutboxWorkerTest {
+
+    private static final LocalSmtpServer smtp;
+
+    static {
+        try {
+            smtp = new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::getPort);
+    }
+
+    @Autowired
+    private EmailOutboxWorker emailOutboxWorker;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @BeforeEach
+    void clearOutbox() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void drainSendsBatchOverOneConnectionAndBacksOffFailures() {
+        int connectionsBefore = smtp.getConnections();
+        int messagesBefore = smtp.getMessages().size();
+        emailOutboxRepository.saveAll(List.of(
+                pending("first@uthmentor.local"),
+                pending("bounce@uthmentor.local"),
+                pending("second@uthmentor.local")));
+
+        int sent = emailOutboxWorker.drain();
+
+        assertEquals(2, sent);
+        assertEquals(2, smtp.getMessages().size() - messagesBefore);
+        assertEquals(1, smtp.getConnections() - connectionsBefore);
+
+        List<EmailOutbox> rows = emailOutboxRepository.findAll();
+        assertEquals(2, rows.stream().filter(row -> row.getStatus() == OutboxStatus.SENT).count());
+        EmailOutbox bounced = rows.stream().filter(row -> row.getRecipient().startsWith("bounce")).findFirst().orElseThrow();
+        assertEquals(OutboxStatus.PENDING, bounced.getStatus());
+        assertEquals(1, bounced.getAttempts());
+        assertTrue(bounced.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // chưa tới hạn retry nên lần drain tiếp theo không gửi lại
+        assertEquals(0, emailOutboxWorker.drain());
+    }
+
+    private EmailOutbox pending(String recipient) {
+        return EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Appointment Confirmation - UthMentor")
+                .body("Dear Member")
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void createsSmallerJpegVariants() throws Exception {
+        Path original = dir.resolve("photo.png");
+        ImageIO.write(photo(3000, 2000), "png", original.toFile());
+        ImageResizer resizer = resizer();
+
+        Map<ImageResizer.Variant, Path> variants = resizer.resize(original, dir);
+
+        assertEquals(3, variants.size());
+        assertSize(variants.get(ImageResizer.Variant.FULL), 1280, 853);
+        assertSize(variants.get(ImageResizer.Variant.CARD), 480, 320);
+        assertSize(variants.get(ImageResizer.Variant.THUMB), 160, 107);
+
+        long originalBytes = Files.size(original);
+        long cardBytes = Files.size(variants.get(ImageResizer.Variant.CARD));
+        long thumbBytes = Files.size(variants.get(ImageResizer.Variant.THUMB));
+        assertTrue(cardBytes * 10 < originalBytes, "card variant should be a small fraction of the original");
+        assertTrue(thumbBytes < cardBytes);
+    }
+
+    @Test
+    void smallImagesAreNotUpscaledAndTransparencyBecomesWhite() throws Exception {
+        BufferedImage small = new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+        Path original = dir.resolve("small.png");
+        ImageIO.write(small, "png", original.toFile());
+
+        Map<ImageResizer.Variant, Path> variants = resizer().resize(original, dir);
+
+        for (Path variant : variants.values()) {
+            BufferedImage image = assertSize(variant, 100, 50);
+            Color pixel = new Color(image.getRGB(50, 25));
+            assertTrue(pixel.getRed() > 240 && pixel.getGreen() > 240 && pixel.getBlue() > 240);
+        }
+    }
+
+    @Test
+    void unreadableFilesProduceNoVariants() throws Exception {
+        Path original = dir.resolve("avatar.webp");
+        Files.write(original, new byte[]{'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'});
+
+        assertTrue(resizer().resize(original, dir).isEmpty());
+    }
+
+    private static ImageResizer resizer() {
+        ImageResizer resizer = new ImageResizer();
+        ReflectionTestUtils.setField(resizer, "jpegQuality", 0.82f);
+        return resizer;
+    }
+
+    private static BufferedImage assertSize(Path file, int width, int height) throws Exception {
+        BufferedImage image = ImageIO.read(file.toFile());
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        return image;
+    }
+
+    // ảnh giống ảnh chụp: dải màu và các hình tròn, không phải một màu phẳng nén quá dễ
+    private static BufferedImage photo(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = ((x * 7919) ^ (y * 104729)) & 0x1f;
+                image.setRGB(x, y, new Color((x * 255 / width + noise) & 0xff, (y * 255 / height) & 0xff, (x + y + noise) & 0xff).getRGB());
+            }
+        }
+        Graphics2D g = image.createGraphics();
+        for (int i = 0; i < 40; i++) {
+            g.setColor(new Color((i * 53) & 0xff, (i * 97) & 0xff, (i * 31) & 0xff));
+            g.fillOval((i * 271) % width, (i * 173) % height, 200 + i * 5, 200 + i * 3);
+        }
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,101 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import uth.edu.uthmentor.Exception.TooManyRequestsException;
+import uth.edu.uthmentor.Model.Role;
+import uth.edu.uthmentor.Model.User;
+import uth.edu.uthmentor.Repository.UserRepository;
+
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LoginPipelineTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor loginExecutor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    void looksUserUpOnceAndChecksPasswordOffTheRequestThread() {
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        User user = User.builder().id(1L).username("an").password(encoder.encode("secret")).role(Role.MEMBER).build();
+        when(userRepository.findByUsernameIgnoreCase("an")).thenReturn(Optional.of(user));
+        when(userRepository.findByUsernameIgnoreCase("ghost")).thenReturn(Optional.empty());
+        LoginPipeline pipeline = pipeline(encoder, 2, 10);
+
+        assertSame(user, pipeline.authenticate("an", "secret"));
+        assertThrows(BadCredentialsException.class, () -> pipeline.authenticate("an", "wrong"));
+        assertThrows(BadCredentialsException.class, () -> pipeline.authenticate("ghost", "secret"));
+
+        verify(userRepository, times(2)).findByUsernameIgnoreCase("an");
+        assertEquals(1, meterRegistry.get("login.duration").tag("outcome", "success").timer().count());
+        assertEquals(2, meterRegistry.get("login.duration").tag("outcome", "bad_credentials").timer().count());
+        assertEquals(3, meterRegistry.get("login.queue.wait").timer().count());
+    }
+
+    @Test
+    void rejectsWithTooManyRequestsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(anyString())).thenReturn("dummy");
+        when(blocking.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        User user = User.builder().id(1L).username("an").password("hash").role(Role.MEMBER).build();
+        when(userRepository.findByUsernameIgnoreCase("an")).thenReturn(Optional.of(user));
+        LoginPipeline pipeline = pipeline(blocking, 1, 1);
+
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> running = clients.submit(() -> pipeline.authenticate("an", "secret"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<User> queued = clients.submit(() -> pipeline.authenticate("an", "secret"));
+            while (loginExecutor.getThreadPoolExecutor().getQueue().isEmpty()) {
+                Thread.sleep(1);
+            }
+            assertEquals(1.0, meterRegistry.get("login.queue.depth").gauge().value());
+
+            long start = System.nanoTime();
+            assertThrows(TooManyRequestsException.class, () -> pipeline.authenticate("an", "secret"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "overflow must fail fast");
+
+            release.countDown();
+            assertSame(user, running.get(5, TimeUnit.SECONDS));
+            assertSame(user, queued.get(5, TimeUnit.SECONDS));
+            assertEquals(1, meterRegistry.get("login.duration").tag("outcome", "rejected").timer().count());
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+
+    private LoginPipeline pipeline(PasswordEncoder encoder, int workers, int queueCapacity) {
+        loginExecutor.setCorePoolSize(workers);
+        loginExecutor.setMaxPoolSize(workers);
+        loginExecutor.setQueueCapacity(queueCapacity);
+        loginExecutor.initialize();
+        LoginPipeline pipeline = new LoginPipeline(userRepository, encoder, loginExecutor, meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "timeoutMs", 5_000L);
+        pipeline.init();
+        return pipeline;
+    }
+}
@@ -0,0 +1,146 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import uth.edu.uthmentor.Dto.MentorDecisionDto;
+import uth.edu.uthmentor.Dto.MentorDecisionResultDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.MentorService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk nhỏ để một lần gọi đi qua nhiều transaction
+@SpringBootTest(properties = "mentor.decision.chunk-size=4")
+class MentorDecisionBulkTest {
+
+    private static final int REQUESTS = 20;
+
+    @Autowired
+    private MentorService mentorService;
+    @Autowired
+    private MentorRequestRepository mentorRequestRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private MentorSearchIndex mentorSearchIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Field field;
+
+    @BeforeEach
+    void setUp() {
+        field = fieldRepository.save(Field.builder().name("Bulk").description("bulk decisions").build());
+    }
+
+    @Test
+    void everyItemGetsItsOwnOutcomeInInputOrder() {
+        MentorRequest approved = request("approved");
+        MentorRequest rejected = request("rejected");
+        MentorRequest invalid = request("invalid");
+        MentorRequest alreadyMentor = request("already");
+        mentorRepository.save(Mentor.builder().fullName("Existing").role(Role.MENTOR)
+                .field(field).user(alreadyMentor.getUser()).build());
+        // request hỏng làm rollback cả nhóm: các item khác vẫn phải được ghi
+        MentorRequest broken = mentorRequestRepository.save(MentorRequest.builder()
+                .field(field).status(Status.PENDING).daysOfWeek(Set.of(DayOfWeek.MONDAY)).build());
+
+        List<MentorDecisionResultDto> results = mentorService.decideMentorRequests(List.of(
+                decision(approved, "APPROVED"),
+                decision(rejected, "REJECTED"),
+                new MentorDecisionDto(-1L, "APPROVED"),
+                decision(invalid, "MAYBE"),
+                decision(alreadyMentor, "APPROVED"),
+                decision(broken, "APPROVED"),
+                decision(approved, "APPROVED")));
+
+        assertEquals(List.of(approved.getId(), rejected.getId(), -1L, invalid.getId(), alreadyMentor.getId(),
+                        broken.getId(), approved.getId()),
+                results.stream().map(MentorDecisionResultDto::getMentorRequestId).toList());
+        assertEquals(List.of(true, true, false, false, false, false, false),
+                results.stream().map(MentorDecisionResultDto::isSuccess).toList());
+        assertEquals(List.of("Mentor request approved successfully", "Mentor request rejected.",
+                        "Can't find this mentor request", "Invalid status", "User is already a mentor",
+                        "Could not save this decision", "User is already a mentor"),
+                results.stream().map(MentorDecisionResultDto::getMessage).toList());
+
+        assertEquals(Status.APPROVED, mentorRequestRepository.findById(approved.getId()).orElseThrow().getStatus());
+        assertEquals(Status.REJECTED, mentorRequestRepository.findById(rejected.getId()).orElseThrow().getStatus());
+        assertEquals(Status.PENDING, mentorRequestRepository.findById(invalid.getId()).orElseThrow().getStatus());
+        assertEquals(Status.PENDING, mentorRequestRepository.findById(broken.getId()).orElseThrow().getStatus());
+
+        Mentor mentor = mentorRepository.findByUser(approved.getUser()).orElseThrow();
+        assertEquals(Role.MENTOR, userRepository.findById(approved.getUser().getId()).orElseThrow().getRole());
+        assertEquals(Set.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY),
+                scheduleRepository.findByMentor(mentor).orElseThrow().getDaysOfWeek());
+        assertTrue(mentorSearchIndex.search(mentor.getFullName(), null, null, 0).contains(mentor.getId()));
+    }
+
+    @Test
+    void bulkDecisionIssuesFarFewerStatementsThanSingleCalls() {
+        List<MentorDecisionDto> singles = new ArrayList<>();
+        List<MentorDecisionDto> bulk = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            singles.add(decision(request("single-" + i), "APPROVED"));
+            bulk.add(decision(request("bulk-" + i), "APPROVED"));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        singles.forEach(mentorService::decideMentorRequest);
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<MentorDecisionResultDto> results = mentorService.decideMentorRequests(bulk);
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        assertTrue(results.stream().allMatch(MentorDecisionResultDto::isSuccess));
+        // mentor và schedule dùng id IDENTITY nên vẫn insert từng dòng; phần còn lại theo nhóm
+        assertTrue(bulkStatements <= 2L * REQUESTS + 6L * (REQUESTS / 4),
+                () -> "bulk issued " + bulkStatements + " statements");
+        assertTrue(bulkStatements * 2 < singleStatements,
+                () -> "bulk issued " + bulkStatements + " statements, single calls " + singleStatements);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        assertThrows(IllegalArgumentException.class, () -> mentorService.decideMentorRequests(List.of()));
+        List<MentorDecisionDto> tooMany = new ArrayList<>();
+        for (int i = 0; i <= 1000; i++) {
+            tooMany.add(new MentorDecisionDto((long) i, "REJECTED"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> mentorService.decideMentorRequests(tooMany));
+    }
+
+    private MentorRequest request(String name) {
+        User user = userRepository.save(TestUsers.user("bulk-" + name, Role.USER));
+        return mentorRequestRepository.save(MentorRequest.builder()
+                .user(user).field(field).fee(150000.0).description("Bulk " + name)
+                .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(11, 0))
+                .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY))
+                .status(Status.PENDING).build());
+    }
+
+    private static MentorDecisionDto decision(MentorRequest request, String status) {
+        return new MentorDecisionDto(request.getId(), status);
+    }
+}
@@ -0,0 +1,111 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uth.edu.uthmentor.Dto.ReviewDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.*;
+import uth.edu.uthmentor.Service.MentorService;
+import uth.edu.uthmentor.Service.ReviewService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MentorRatingTest {
+
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private MentorService mentorService;
+    @Autowired
+    private MentorRatingReconciler mentorRatingReconciler;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Mentor mentor;
+
+    @BeforeEach
+    void setUp() {
+        Field field = fieldRepository.save(Field.builder().name("Rating").description("rating aggregates").build());
+        User mentorUser = userRepository.save(TestUsers.user("rating-mentor", Role.MENTOR));
+        mentor = mentorRepository.save(Mentor.builder()
+                .fullName("Rating Mentor").role(Role.MENTOR).field(field).user(mentorUser).fee(200000.0).build());
+    }
+
+    @Test
+    void reviewUpdatesCountAndSumOnTheMentor() {
+        reviewService.evaluateMen(reviewer(), new ReviewDto("good", 4, mentor.getId(), null, null));
+        assertRating(1, 4);
+        // hồ sơ đã cache phải thấy điểm mới
+        assertEquals(4.0, mentorService.getMentorById(mentor.getId()).getRating());
+
+        reviewService.evaluateMen(reviewer(), new ReviewDto("great", 5, mentor.getId(), null, null));
+        assertRating(2, 9);
+        assertEquals(4.5, mentorService.getMentorById(mentor.getId()).getRating());
+    }
+
+    @Test
+    void reconcileRebuildsAggregatesFromReviews() {
+        reviewService.evaluateMen(reviewer(), new ReviewDto("good", 4, mentor.getId(), null, null));
+        // review ghi thẳng vào bảng không qua addRating, tổng hợp bị sửa tay
+        Member member = reviewer().getMember();
+        reviewRepository.save(Review.builder().comment("direct").rating(2).member(member).mentor(mentor).build());
+        jdbcTemplate.update("UPDATE mentor SET rating_count = 99, rating_sum = 1 WHERE id = ?", mentor.getId());
+
+        assertTrue(mentorRatingReconciler.reconcile() > 0);
+
+        assertRating(2, 6);
+        assertEquals(3.0, mentorService.getMentorById(mentor.getId()).getRating());
+    }
+
+    @Test
+    void reviewWithoutAValidRatingIsRejected() {
+        User reviewer = reviewer();
+        for (Integer rating : new Integer[]{null, 0, 6}) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> reviewService.evaluateMen(reviewer, new ReviewDto("no score", rating, mentor.getId(), null, null)));
+        }
+        assertTrue(reviewRepository.findByMentorIdOrderById(mentor.getId()).isEmpty());
+        assertRating(0, 0);
+    }
+
+    @Test
+    void reconcileSkipsReviewsWithoutARating() {
+        reviewService.evaluateMen(reviewer(), new ReviewDto("good", 4, mentor.getId(), null, null));
+        // review cũ từ trước khi bắt buộc có điểm
+        reviewRepository.save(Review.builder().comment("legacy").member(reviewer().getMember()).mentor(mentor).build());
+
+        mentorRatingReconciler.reconcile();
+
+        assertRating(1, 4);
+        assertEquals(4.0, mentorService.getMentorById(mentor.getId()).getRating());
+    }
+
+    // user được nạp lại để có member đi kèm, như principal của request
+    private User reviewer() {
+        User user = userRepository.save(TestUsers.user("rating-member", Role.MEMBER));
+        memberRepository.save(Member.builder().firstName("Rating").lastName("Member").email(user.getEmail())
+                .role(Role.MEMBER).user(user).build());
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private void assertRating(long count, long sum) {
+        Mentor reloaded = mentorRepository.findById(mentor.getId()).orElseThrow();
+        assertEquals(count, reloaded.getRatingCount());
+        assertEquals(sum, reloaded.getRatingSum());
+    }
+}
@@ -0,0 +1,240 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+import uth.edu.uthmentor.Dto.MentorDecisionDto;
+import uth.edu.uthmentor.Dto.MentorRequestDto;
+import uth.edu.uthmentor.Model.*;
+import uth.edu.uthmentor.Repository.FieldRepository;
+import uth.edu.uthmentor.Repository.MentorRepository;
+import uth.edu.uthmentor.Repository.MentorRequestRepository;
+import uth.edu.uthmentor.Repository.UserRepository;
+import uth.edu.uthmentor.Service.ImageStorage;
+import uth.edu.uthmentor.Service.MentorService;
+import uth.edu.uthmentor.Service.MentorRequestService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MentorRequestImageUploadTest {
+
+    // thay Cloudinary: upload chờ latch để giả lập storage chậm, content type "image/broken" thì lỗi,
+    // "image/held" chờ latch riêng của test lượt quét, "image/fast" trả về ngay
+    @TestConfiguration
+    static class SlowStorageConfig {
+        static final CountDownLatch release = new CountDownLatch(1);
+        static final CountDownLatch releaseHeld = new CountDownLatch(1);
+
+        @Bean
+        @Primary
+        ImageStorage slowImageStorage() {
+            return (file, contentType) -> {
+                if ("image/broken".equals(contentType)) {
+                    throw new IOException("storage rejected the file");
+                }
+                try {
+                    if (!"image/fast".equals(contentType)) {
+                        ("image/held".equals(contentType) ? releaseHeld : release).await(30, TimeUnit.SECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "https://images.test/" + Files.size(file);
+            };
+        }
+    }
+
+    @Autowired
+    private MentorRequestService mentorRequestService;
+    @Autowired
+    private MentorRequestRepository mentorRequestRepository;
+    @Autowired
+    private FieldRepository fieldRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ImageUploadWorker imageUploadWorker;
+    @Autowired
+    private MentorService mentorService;
+    @Autowired
+    private MentorRepository mentorRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void requestReturnsBeforeTheImageIsUploaded() throws Exception {
+        byte[] image = new byte[2 * 1024 * 1024];
+        long start = System.nanoTime();
+        MentorRequestDto created = mentorRequestService.createMentorRequest(
+                request(), user("image-slow"), new MockMultipartFile("file", "avatar.png", "image/png", image));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // storage vẫn đang bị chặn (tới 30 giây) nhưng request đã trả về
+        assertTrue(elapsedMs < 10_000, "createMentorRequest waited " + elapsedMs + " ms for storage");
+        assertEquals(ImageState.PENDING.name(), created.getImageState());
+        MentorRequest pending = mentorRequestRepository.findById(created.getId()).orElseThrow();
+        assertEquals(ImageState.PENDING, pending.getImageState());
+        Path staged = Path.of(pending.getStagedImagePath());
+        assertTrue(Files.exists(staged));
+        assertEquals(image.length, Files.size(staged));
+
+        SlowStorageConfig.release.countDown();
+        MentorRequest ready = awaitState(created.getId(), ImageState.READY);
+        assertEquals("https://images.test/" + image.length, ready.getImageUrl());
+        assertNull(ready.getStagedImagePath());
+        assertFalse(Files.exists(staged));
+        assertEquals(Status.PENDING, ready.getStatus());
+    }
+
+    @Test
+    void repeatedStorageFailuresMarkTheImageFailed() throws Exception {
+        MentorRequestDto created = mentorRequestService.createMentorRequest(
+                request(), user("image-broken"), new MockMultipartFile("file", "avatar.png", "image/broken", new byte[1024]));
+        Path staged = Path.of(mentorRequestRepository.findById(created.getId()).orElseThrow().getStagedImagePath());
+
+        // các lượt thử lại bình thường do @Scheduled gọi
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (mentorRequestRepository.findById(created.getId()).orElseThrow().getImageState() == ImageState.PENDING
+                && System.currentTimeMillis() < deadline) {
+            imageUploadWorker.upload(created.getId());
+        }
+
+        MentorRequest failed = mentorRequestRepository.findById(created.getId()).orElseThrow();
+        assertEquals(ImageState.FAILED, failed.getImageState());
+        assertEquals(5, failed.getImageAttempts());
+        assertNull(failed.getImageUrl());
+        assertFalse(Files.exists(staged));
+        assertFalse(mentorRequestRepository.findIdsByImageState(ImageState.PENDING).contains(created.getId()));
+    }
+
+    @Test
+    void missingStagedFileCountsAsAFailedAttempt() throws Exception {
+        MentorRequest pending = pendingImageRequest(user("image-missing"), "image/fast");
+        // thư mục tạm bị dọn khi khởi động lại
+        Files.delete(Path.of(pending.getStagedImagePath()));
+
+        for (int attempt = 1; attempt < 5; attempt++) {
+            imageUploadWorker.upload(pending.getId());
+            MentorRequest retried = mentorRequestRepository.findById(pending.getId()).orElseThrow();
+            assertEquals(ImageState.PENDING, retried.getImageState());
+            assertEquals(attempt, retried.getImageAttempts());
+        }
+        imageUploadWorker.upload(pending.getId());
+
+        MentorRequest failed = mentorRequestRepository.findById(pending.getId()).orElseThrow();
+        assertEquals(ImageState.FAILED, failed.getImageState());
+        assertNull(failed.getStagedImagePath());
+        assertFalse(mentorRequestRepository.findIdsByImageState(ImageState.PENDING).contains(pending.getId()));
+    }
+
+    @Test
+    void retrySweepHandsUploadsToTheImageExecutor() throws Exception {
+        Path staged = imageUploadWorker.stage(new MockMultipartFile("file", "avatar.png", "image/held", new byte[1024]));
+        // dòng PENDING còn sót (vd. sau khởi động lại), chưa được submit
+        MentorRequest pending = mentorRequestRepository.save(MentorRequest.builder()
+                .user(user("image-retry")).status(Status.PENDING).imageState(ImageState.PENDING)
+                .stagedImagePath(staged.toString()).imageContentType("image/held").build());
+
+        // storage vẫn bị chặn: lượt quét phải trả về ngay thay vì giữ luồng scheduler
+        long start = System.nanoTime();
+        imageUploadWorker.retryPending();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs < 5_000, "retryPending blocked for " + elapsedMs + " ms");
+        assertEquals(ImageState.PENDING, mentorRequestRepository.findById(pending.getId()).orElseThrow().getImageState());
+
+        SlowStorageConfig.releaseHeld.countDown();
+        MentorRequest ready = awaitState(pending.getId(), ImageState.READY);
+        assertEquals("https://images.test/1024", ready.getImageUrl());
+    }
+
+    @Test
+    void imageFinishedWhileApprovingIsCopiedToTheMentor() {
+        User applicant = user("image-approve-race");
+        MentorRequest pending = pendingImageRequest(applicant, "image/fast");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // lần duyệt đã đọc request khi ảnh còn PENDING...
+            assertEquals(ImageState.PENDING, mentorRequestRepository.findDecisionById(pending.getId()).orElseThrow().getImageState());
+            // ...rồi worker ghi ảnh xong; entity đã nạp vẫn giữ trạng thái cũ
+            jdbcTemplate.update("UPDATE mentor_request SET image_url = ?, card_image_url = ?, thumbnail_url = ?, image_state = 'READY' WHERE id = ?",
+                    "https://images.test/full", "https://images.test/card", "https://images.test/thumb", pending.getId());
+            mentorService.decideMentorRequest(new MentorDecisionDto(pending.getId(), "APPROVED"));
+        });
+
+        Mentor mentor = mentorRepository.findByUser(applicant).orElseThrow();
+        assertEquals("https://images.test/full", mentor.getImageUrl());
+        assertEquals("https://images.test/card", mentor.getCardImageUrl());
+        assertEquals("https://images.test/thumb", mentor.getThumbnailUrl());
+    }
+
+    @Test
+    void imageFinishedAfterApprovalIsAttachedByTheWorker() {
+        User applicant = user("image-approve-first");
+        MentorRequest pending = pendingImageRequest(applicant, "image/fast");
+        mentorService.decideMentorRequest(new MentorDecisionDto(pending.getId(), "APPROVED"));
+        assertNull(mentorRepository.findByUser(applicant).orElseThrow().getImageUrl());
+
+        imageUploadWorker.upload(pending.getId());
+
+        assertEquals("https://images.test/1024", mentorRepository.findByUser(applicant).orElseThrow().getImageUrl());
+    }
+
+    // request PENDING có file tạm nhưng chưa submit, để test tự quyết định lúc upload
+    private MentorRequest pendingImageRequest(User applicant, String contentType) {
+        Path staged = imageUploadWorker.stage(new MockMultipartFile("file", "avatar.png", contentType, new byte[1024]));
+        Field field = fieldRepository.save(Field.builder().name("Image").description("image approve race").build());
+        return mentorRequestRepository.save(MentorRequest.builder()
+                .user(applicant).field(field).status(Status.PENDING).fee(150000.0)
+                .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(10, 0)).daysOfWeek(Set.of(DayOfWeek.MONDAY))
+                .imageState(ImageState.PENDING).stagedImagePath(staged.toString()).imageContentType(contentType).build());
+    }
+
+    private MentorRequest awaitState(Long id, ImageState state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            MentorRequest request = mentorRequestRepository.findById(id).orElseThrow();
+            if (request.getImageState() == state) {
+                return request;
+            }
+            Thread.sleep(20);
+        }
+        fail("image of mentor request " + id + " did not reach " + state);
+        return null;
+    }
+
+    private MentorRequestDto request() {
+        Field field = fieldRepository.save(Field.builder().name("Image").description("image upload test").build());
+        MentorRequestDto dto = new MentorRequestDto();
+        dto.setFieldId(field.getId());
+        dto.setDaysOfWeek(List.of("MONDAY", "WEDNESDAY"));
+        dto.setStartTime(LocalTime.of(8, 0));
+        dto.setEndTime(LocalTime.of(12, 0));
+        dto.setFee(200000.0);
+        dto.setDescription("Image upload");
+        return dto;
+    }
+
+    private User user(String prefix) {
+        return userRepository.save(TestUsers.user(prefix, Role.USER));
+    }
+}
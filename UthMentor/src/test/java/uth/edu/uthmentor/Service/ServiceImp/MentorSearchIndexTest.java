@@ -0,0 +1,115 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uth.edu.uthmentor.Dto.MentorSearchDoc;
+import uth.edu.uthmentor.Repository.MentorRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MentorSearchIndexTest {
+
+    private static final String[] FIELDS = {"Công nghệ thông tin", "Kinh tế", "Ngôn ngữ Anh", "Thiết kế đồ họa", "Cơ khí"};
+    private static final String[] LAST_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Đặng", "Võ", "Bùi"};
+    private static final String[] FIRST_NAMES = {"An", "Bình", "Chi", "Dũng", "Giang", "Hạnh", "Khoa", "Linh", "Minh", "Tuấn"};
+
+    private MentorRepository mentorRepository;
+    private MentorSearchIndex index;
+    private final List<MentorSearchDoc> docs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        docs.add(doc(1L, "Đặng Minh Tuấn", "Công nghệ thông tin", "Lập trình Java, Spring Boot"));
+        docs.add(doc(2L, "Tuấn Anh", "Kinh tế", "Phân tích tài chính"));
+        docs.add(doc(3L, "Lê Thị Hạnh", "Ngôn ngữ Anh", "Luyện thi IELTS, mentor cho người mới bắt đầu Java"));
+        docs.add(doc(4L, "Anh Tuấn", "Thiết kế đồ họa", null));
+        mentorRepository = mock(MentorRepository.class);
+        when(mentorRepository.findAllSearchDocs()).thenReturn(docs);
+        index = new MentorSearchIndex(mentorRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void matchesWithoutVietnameseAccentsAndRanksByRelevance() {
+        assertTrue(index.isReady());
+        // cả ba đều khớp đầu một từ nên xếp theo tên
+        assertEquals(List.of(4L, 1L, 2L), index.search("tuan", null, null, 0));
+        assertEquals(List.of(1L), index.search(null, "cong nghe", null, 0));
+        assertEquals(List.of(), index.search("tuan", "ngon ngu", null, 0));
+    }
+
+    @Test
+    void freeTextQuerySearchesDescriptionAndPrefersNameHits() {
+        assertEquals(List.of(1L, 3L), index.search(null, null, "java", 0));
+        // 3 khớp cả tên lẫn lĩnh vực nên đứng trước 4 và 2 chỉ khớp tên
+        assertEquals(List.of(3L, 4L, 2L), index.search(null, null, "anh", 0));
+    }
+
+    @Test
+    void emptySearchListsMentorsByName() {
+        assertEquals(List.of(4L, 1L, 3L, 2L), index.search(null, " ", "", 0));
+        assertEquals(List.of(), index.search(null, null, null, 1));
+    }
+
+    @Test
+    void refreshReplacesPostingsOfUpdatedMentor() {
+        when(mentorRepository.findSearchDoc(4L)).thenReturn(Optional.of(doc(4L, "Anh Tuấn", "Cơ khí", "Thiết kế máy")));
+        index.refresh(4L);
+        assertEquals(List.of(), index.search(null, "do hoa", null, 0));
+        assertEquals(List.of(4L), index.search(null, "co khi", null, 0));
+
+        when(mentorRepository.findSearchDoc(5L)).thenReturn(Optional.of(doc(5L, "Bùi Văn Tuấn", "Cơ khí", null)));
+        index.refresh(5L);
+        assertEquals(List.of(4L, 5L), index.search(null, "co khi", null, 0));
+    }
+
+    @Test
+    void searchStaysBelowOneMillisecondOnTenThousandMentors() {
+        docs.clear();
+        for (long id = 1; id <= 10_000; id++) {
+            String name = LAST_NAMES[(int) (id % LAST_NAMES.length)] + " Văn " + FIRST_NAMES[(int) (id / 7 % FIRST_NAMES.length)] + " " + id;
+            docs.add(doc(id, name, FIELDS[(int) (id % FIELDS.length)], "Mentor số " + id + " hướng dẫn dự án thực tế"));
+        }
+        index.rebuild();
+
+        String[][] queries = {{"minh", null, null}, {"nguyen", "kinh te", null}, {null, null, "ielts"}, {"hoang van linh 12", null, null}};
+        for (int i = 0; i < 2_000; i++) {
+            String[] q = queries[i % queries.length];
+            index.search(q[0], q[1], q[2], 0);
+        }
+        int runs = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            String[] q = queries[i % queries.length];
+            index.search(q[0], q[1], q[2], i % 3);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / runs;
+        assertTrue(micros < 1_000, "Search took " + micros + " us");
+    }
+
+    private static MentorSearchDoc doc(Long id, String fullName, String fieldName, String description) {
+        return new MentorSearchDoc() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getFullName() {
+                return fullName;
+            }
+
+            public String getFieldName() {
+                return fieldName;
+            }
+
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
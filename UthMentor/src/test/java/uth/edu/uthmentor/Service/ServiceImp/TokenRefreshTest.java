@@ -0,0 +1,124 @@
+package uth.edu.uthmentor.Service.ServiceImp;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import uth.edu.uthmentor.Config.JwtAuthenticationFilter;
+import uth.edu.uthmentor.Dto.UserDto;
+import uth.edu.uthmentor.Model.Role;
+import uth.edu.uthmentor.Repository.UserRepository;
+import uth.edu.uthmentor.Service.UserService;
+import uth.edu.uthmentor.support.TestUsers;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TokenRefreshTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtAuthenticationFilter filter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void refreshRotatesTokensWithoutCheckingThePassword() throws Exception {
+        String username = userRepository.save(TestUsers.builder("refresh", Role.USER)
+                .password(passwordEncoder.encode(TestUsers.PASSWORD)).build()).getUsername();
+        UserDto login = new UserDto();
+        login.setUsername(username);
+        login.setPassword(TestUsers.PASSWORD);
+
+        Map<String, Object> first = userService.authenticateUser(login);
+        String refreshToken = (String) first.get("refreshToken");
+        assertNotNull(refreshToken);
+        // refresh token không dùng thay access token được
+        assertNull(authenticate(refreshToken));
+
+        long loginsBefore = loginCount();
+        Map<String, Object> second = userService.refreshToken(refreshToken);
+        assertEquals(loginsBefore, loginCount(), "refresh must not go through the password check");
+        assertNotNull(authenticate((String) second.get("token")));
+        assertNotEquals(refreshToken, second.get("refreshToken"));
+
+        // refresh token đã dùng thì bị từ chối
+        assertThrows(BadCredentialsException.class, () -> userService.refreshToken(refreshToken));
+        assertThrows(BadCredentialsException.class, () -> userService.refreshToken("not-a-token"));
+    }
+
+    @Test
+    void logoutRevokesAccessAndRefreshTokens() throws Exception {
+        String username = userRepository.save(TestUsers.builder("logout", Role.USER)
+                .password(passwordEncoder.encode(TestUsers.PASSWORD)).build()).getUsername();
+        UserDto login = new UserDto();
+        login.setUsername(username);
+        login.setPassword(TestUsers.PASSWORD);
+        Map<String, Object> tokens = userService.authenticateUser(login);
+        String accessToken = (String) tokens.get("token");
+        assertNotNull(authenticate(accessToken));
+
+        userService.logout(accessToken, (String) tokens.get("refreshToken"));
+
+        assertNull(authenticate(accessToken));
+        assertThrows(BadCredentialsException.class, () -> userService.refreshToken((String) tokens.get("refreshToken")));
+    }
+
+    @Test
+    void revokedEntriesExpireWithTheToken() throws Exception {
+        TokenRevocationList list = new TokenRevocationList(new SimpleMeterRegistry());
+        list.buildCache();
+        // exp của JWT tính theo giây nên token này còn hạn từ 1 đến 2 giây
+        Claims shortLived = Jwts.claims().id(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 2_000)).build();
+        Claims unrevoked = Jwts.claims().id(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60_000)).build();
+
+        assertTrue(list.revoke(shortLived));
+        assertFalse(list.revoke(shortLived));
+        assertTrue(list.isRevoked(shortLived));
+        assertFalse(list.isRevoked(unrevoked));
+
+        Thread.sleep(2_500);
+        assertFalse(list.isRevoked(shortLived));
+    }
+
+    private long loginCount() {
+        Timer timer = meterRegistry.find("login.duration").tag("outcome", "success").timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/appointment/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,39 @@
+package uth.edu.uthmentor.support;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import uth.edu.uthmentor.Config.RequestQueryStats;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Khai báo số câu SQL tối đa cho một endpoint trong test MockMvc:
+// mockMvc.perform(get("/field/get-all")).andExpect(QueryBudget.statementsAtMost(1))
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            RequestQueryStats stats = stats(result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE));
+            assertTrue(stats.getStatements() <= max, () -> String.format(
+                    "%s %s issued %d SQL statements, budget is %d (%d entities loaded)",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(),
+                    stats.getStatements(), max, stats.getEntityLoads()));
+        };
+    }
+
+    public static ResultMatcher entityLoadsAtMost(int max) {
+        return result -> {
+            RequestQueryStats stats = stats(result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE));
+            assertTrue(stats.getEntityLoads() <= max, () -> String.format(
+                    "%s %s loaded %d entities, budget is %d",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), stats.getEntityLoads(), max));
+        };
+    }
+
+    private static RequestQueryStats stats(Object attribute) {
+        assertNotNull(attribute, "QueryStatsFilter did not run; use @AutoConfigureMockMvc so servlet filters are applied");
+        return (RequestQueryStats) attribute;
+    }
+}
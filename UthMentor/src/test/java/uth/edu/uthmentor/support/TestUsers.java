@@ -0,0 +1,29 @@
+package uth.edu.uthmentor.support;
+
+import uth.edu.uthmentor.Model.Role;
+import uth.edu.uthmentor.Model.User;
+
+// User chưa lưu cho test: username = prefix + nanoTime (duy nhất trong context dùng chung), email theo username,
+// mật khẩu "secret" dạng {noop}. Cần đổi tên hay mật khẩu thì dùng builder rồi ghi đè
+public final class TestUsers {
+
+    public static final String PASSWORD = "secret";
+
+    private TestUsers() {
+    }
+
+    public static User user(String prefix, Role role) {
+        return builder(prefix, role).build();
+    }
+
+    public static User.UserBuilder builder(String prefix, Role role) {
+        String username = prefix + "-" + System.nanoTime();
+        return User.builder()
+                .username(username)
+                .firstName("Test")
+                .lastName(prefix)
+                .email(username + "@uthmentor.local")
+                .password("{noop}" + PASSWORD)
+                .role(role);
+    }
+}
@@ -58,13 +58,16 @@ export const AuthProvider = ({ children }) => {
 
       const response = await authAPI.login({ username, password })
 
-      const { token: apiToken, ...userData } = response.data
+      const { token: apiToken, refreshToken, ...userData } = response.data
       const user = userData.user || userData
 
       // Validate token before storing
       if (apiToken && apiToken.trim() !== "" && apiToken !== "null" && apiToken !== "undefined") {
         localStorage.setItem("user", JSON.stringify(user))
         localStorage.setItem("token", apiToken)
+        if (refreshToken) {
+          localStorage.setItem("refreshToken", refreshToken)
+        }
         setUser(user)
         setToken(apiToken)
       } else {
@@ -110,8 +113,11 @@ export const AuthProvider = ({ children }) => {
 
 
   const logout = () => {
+    // Thu hồi token phía server, không chờ kết quả
+    authAPI.logout(localStorage.getItem("token"), localStorage.getItem("refreshToken")).catch(() => {})
     localStorage.removeItem("user")
     localStorage.removeItem("token")
+    localStorage.removeItem("refreshToken")
     setUser(null)
     setToken(null)
     navigate("/")
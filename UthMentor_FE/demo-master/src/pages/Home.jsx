@@ -180,7 +180,7 @@ const Home = () => {
                 <Card className="doctor-card border-0 shadow-sm h-100">
                   <div className="position-relative">
                     <img
-                      src={doctor.imageUrl || doctor.avatar || 'https://via.placeholder.com/200x200?text=Doctor'}
+                      src={doctor.cardImageUrl || doctor.imageUrl || doctor.avatar || 'https://via.placeholder.com/200x200?text=Doctor'}
                       alt={doctor.fullName || doctor.name}
                       className="card-img-top"
                       style={{ height: '200px', objectFit: 'cover' }}
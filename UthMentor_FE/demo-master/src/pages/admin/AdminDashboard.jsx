@@ -240,7 +240,7 @@ const AdminDashboard = () => {
                 <tr key={mentor.id} className="text-center">
                   <td>{mentor.fullName || mentor.firstName + ' ' + mentor.lastName}</td>
                   <td>{mentor.email}</td>
-                  <td>{mentor.fieldName || 'N/A'}</td>
+                  <td>{mentor.field?.name || 'N/A'}</td>
                   <td>{mentor.field?.name}</td>
                 </tr>
               ))}
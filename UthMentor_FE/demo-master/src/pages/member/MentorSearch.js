@@ -148,7 +148,7 @@ const handleSearch = async (e = null) => {
                 <Card className="h-100 shadow-sm">
                   <Card.Img
                     variant="top"
-                    src={mentor.imageUrl || 'https://via.placeholder.com/400x200'}
+                    src={mentor.cardImageUrl || mentor.imageUrl || 'https://via.placeholder.com/400x200'}
                     style={{ height: '200px', objectFit: 'cover', objectPosition: 'top center' }}
                   />
                   <Card.Body>
@@ -11,7 +11,7 @@ const MentorCard = ({ mentor, isSelected, onSelect }) => {
       <div className="mentor-img-container">
         <Card.Img 
           variant="top" 
-          src={mentor.imageUrl || 'https://via.placeholder.com/150?text=Mentor'} 
+          src={mentor.cardImageUrl || mentor.imageUrl || 'https://via.placeholder.com/150?text=Mentor'} 
           className="mentor-img"
         />
         {mentor.rating !== null && mentor.rating !== undefined && mentor.rating > 0 && (
@@ -51,12 +51,28 @@ api.interceptors.response.use(
     console.log("API Response:", response.status, response.config.url)
     return response
   },
-  (error) => {
+  async (error) => {
     console.error("API Response Error:", error.response?.status, error.config?.url, error.message)
 
+    const original = error.config
+    const refreshToken = localStorage.getItem("refreshToken")
+    // Access token hết hạn: đổi refresh token lấy cặp token mới rồi gửi lại request một lần
+    if (error.response && error.response.status === 401 && refreshToken && original && !original._retry
+        && !original.url?.startsWith("/user/")) {
+      original._retry = true
+      try {
+        const { token } = await refreshTokens(refreshToken)
+        original.headers["Authorization"] = `Bearer ${token}`
+        return api(original)
+      } catch (refreshError) {
+        console.error("Token refresh failed:", refreshError.message)
+      }
+    }
+
     if (error.response && error.response.status === 401) {
       // Xóa token và chuyển hướng đến trang đăng nhập khi token hết hạn
       localStorage.removeItem("token")
+      localStorage.removeItem("refreshToken")
       localStorage.removeItem("user")
       window.location.href = "/login"
     }
@@ -64,6 +80,24 @@ api.interceptors.response.use(
   },
 )
 
+// Nhiều request cùng hết hạn chỉ gọi /user/refresh một lần (refresh token dùng một lần)
+let pendingRefresh = null
+const refreshTokens = (refreshToken) => {
+  if (!pendingRefresh) {
+    pendingRefresh = axios
+      .post(`${getApiUrl()}/user/refresh`, { refreshToken })
+      .then((response) => {
+        localStorage.setItem("token", response.data.token)
+        localStorage.setItem("refreshToken", response.data.refreshToken)
+        return response.data
+      })
+      .finally(() => {
+        pendingRefresh = null
+      })
+  }
+  return pendingRefresh
+}
+
 // Enhanced API functions with fallback
 const createApiFunction = (apiCall) => {
   return async (...args) => {
@@ -79,6 +113,10 @@ export const authAPI = {
   // POST /user/login
   login: (credentials) => api.post("/user/login", credentials),
 
+  // POST /user/logout
+  logout: (token, refreshToken) =>
+    api.post("/user/logout", { refreshToken }, { headers: { Authorization: `Bearer ${token}` } }),
+
 
 }
 
@@ -133,6 +171,14 @@ export const appointmentAPI = {
       }),
   ),
 
+  // GET /appointment/available-calendar?mentorId=&from=&to=
+  getAvailabilityCalendar: createApiFunction(
+    (mentorId, from, to) =>
+      api.get("/appointment/available-calendar", {
+        params: { mentorId, from, to },
+      }),
+  ),
+
   // POST /appointment/book
   book: (appointmentData) => {
     const token = localStorage.getItem("token");